@@ -0,0 +1,39 @@
+package com.ecom.payment.archive;
+
+import com.ecom.payment.exception.ArchiveException;
+import com.ecom.payment.model.Payment;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Archive used while {@code payment.archive.enabled} is off: it holds nothing and
+ * touches no files, so lookups never see segments left behind by an earlier run.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.archive.enabled", havingValue = "false", matchIfMissing = true)
+public class DisabledPaymentArchive implements PaymentArchive {
+
+    @Override
+    public Optional<Payment> findById(Long id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Payment> findByOrderId(Long orderId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public List<Payment> findByUserId(Long userId) {
+        return List.of();
+    }
+
+    @Override
+    public void append(List<Payment> payments) {
+        // Refuse rather than drop, since callers delete the hot rows after a successful append
+        throw new ArchiveException("Payment archive is disabled");
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecom.payment.archive;
+
+import com.ecom.payment.model.Payment;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cold storage for settled payments that have been moved out of the hot
+ * {@code payments} table. Lookups are only consulted after the hot table misses.
+ */
+public interface PaymentArchive {
+
+    Optional<Payment> findById(Long id);
+
+    Optional<Payment> findByOrderId(Long orderId);
+
+    List<Payment> findByUserId(Long userId);
+
+    /**
+     * Durably stores {@code payments}; once this returns the caller may delete their
+     * hot rows.
+     */
+    void append(List<Payment> payments);
+}
@@ -0,0 +1,107 @@
+package com.ecom.payment.archive;
+
+import com.ecom.payment.model.Payment;
+import com.ecom.payment.model.PaymentStatus;
+import com.ecom.payment.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Moves settled payments out of the hot {@code payments} table into
+ * {@link PaymentArchive} segments, one segment per batch. {@code FAILED} and
+ * {@code REFUNDED} payments go once they are older than {@code payment.archive.retention};
+ * {@code SUCCESS} payments stay until {@code payment.archive.refund-window} has also
+ * passed, because refunds are only taken against the hot table.
+ * <p>
+ * Rows are deleted only after their segment is durably in place, and only if their
+ * status is still the one that was archived. A row that changed in between (e.g. a
+ * refund) stays in the hot table, which lookups consult first, and is archived again
+ * by a later run into a newer segment.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.archive.enabled", havingValue = "true")
+public class PaymentArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentArchiver.class);
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentArchive paymentArchive;
+    private final Duration retention;
+    private final Duration refundWindow;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    public PaymentArchiver(PaymentRepository paymentRepository,
+                           PaymentArchive paymentArchive,
+                           @Value("${payment.archive.retention:P30D}") Duration retention,
+                           @Value("${payment.archive.refund-window}") Duration refundWindow,
+                           @Value("${payment.archive.segment-size:10000}") int segmentSize,
+                           @Value("${payment.archive.max-segments:50}") int maxSegments) {
+        this.paymentRepository = paymentRepository;
+        this.paymentArchive = paymentArchive;
+        this.retention = retention;
+        this.refundWindow = refundWindow;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+    }
+
+    @Scheduled(initialDelayString = "${payment.archive.interval:PT1H}",
+            fixedDelayString = "${payment.archive.interval:PT1H}")
+    public void archive() {
+        archiveOnce();
+    }
+
+    int archiveOnce() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(retention);
+        LocalDateTime refundableCutoff = now.minus(retention.compareTo(refundWindow) > 0 ? retention : refundWindow);
+        PageRequest firstPage = PageRequest.of(0, segmentSize);
+        int archived = 0;
+
+        for (int segment = 0; segment < maxSegments; segment++) {
+            List<Payment> payments = paymentRepository.findArchivable(cutoff, refundableCutoff, firstPage);
+            if (payments.isEmpty()) {
+                break;
+            }
+            paymentArchive.append(payments);
+            int deleted = deleteArchived(payments);
+            if (deleted < payments.size()) {
+                log.info("{} payments changed status while being archived and stay in the hot table",
+                        payments.size() - deleted);
+            }
+            archived += deleted;
+            if (payments.size() < segmentSize) {
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} settled payments created before {} ({} for successful ones)",
+                    archived, cutoff, refundableCutoff);
+        }
+        return archived;
+    }
+
+    private int deleteArchived(List<Payment> payments) {
+        Map<PaymentStatus, List<Long>> idsByStatus = payments.stream()
+                .collect(Collectors.groupingBy(Payment::getStatus, () -> new EnumMap<>(PaymentStatus.class),
+                        Collectors.mapping(Payment::getId, Collectors.toList())));
+        int deleted = 0;
+        for (Map.Entry<PaymentStatus, List<Long>> entry : idsByStatus.entrySet()) {
+            deleted += paymentRepository.deleteByIdInAndStatus(entry.getValue(), entry.getKey());
+        }
+        return deleted;
+    }
+}
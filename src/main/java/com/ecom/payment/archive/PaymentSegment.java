@@ -0,0 +1,369 @@
+package com.ecom.payment.archive;
+
+import com.ecom.payment.exception.ArchiveException;
+import com.ecom.payment.model.Money;
+import com.ecom.payment.model.Payment;
+import com.ecom.payment.model.PaymentStatus;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * One immutable archive file of settled payments.
+ * <p>
+ * Layout: a header, an uncompressed index (row ids in ascending order, then
+ * {@code (orderId, row)} and {@code (userId, row)} pairs sorted by key), the file offset
+ * of each row block, and the row blocks themselves. A block holds {@value #BLOCK_ROWS}
+ * consecutive rows with their columns back to back, deflate-compressed on its own.
+ * <p>
+ * The file is memory-mapped rather than read onto the heap, so only the header fields
+ * are resident and index pages are brought in by the OS as lookups touch them. A
+ * lookup decodes only the blocks that hold matching rows, and builds strings only for
+ * those rows.
+ */
+final class PaymentSegment {
+
+    static final int BLOCK_ROWS = 256;
+
+    private static final int MAGIC = 0x50534547;
+    private static final int VERSION = 2;
+    // magic, version, count, block rows, block count, min id, max id
+    private static final int HEADER_SIZE = 5 * 4 + 2 * 8;
+    private static final int INDEX_ENTRY_SIZE = 12;
+    private static final PaymentStatus[] STATUSES = PaymentStatus.values();
+
+    private final Path file;
+    private final MappedByteBuffer data;
+    private final int count;
+    private final int blockRows;
+    private final long minId;
+    private final long maxId;
+
+    private PaymentSegment(Path file, MappedByteBuffer data, int count, int blockRows, long minId, long maxId) {
+        this.file = file;
+        this.data = data;
+        this.count = count;
+        this.blockRows = blockRows;
+        this.minId = minId;
+        this.maxId = maxId;
+    }
+
+    /**
+     * Writes a new segment to {@code file}, which must not exist yet, and forces it to
+     * disk before returning so it can be moved into place safely.
+     */
+    static void write(Path file, List<Payment> payments) throws IOException {
+        List<Payment> rows = new ArrayList<>(payments);
+        rows.sort(Comparator.comparing(Payment::getId));
+        int count = rows.size();
+        int blockCount = (count + BLOCK_ROWS - 1) / BLOCK_ROWS;
+
+        int[] orderRows = sortedRows(rows, Payment::getOrderId);
+        int[] userRows = sortedRows(rows, Payment::getUserId);
+
+        List<byte[]> blocks = new ArrayList<>(blockCount);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            for (int from = 0; from < count; from += BLOCK_ROWS) {
+                deflater.reset();
+                blocks.add(compressBlock(rows.subList(from, Math.min(count, from + BLOCK_ROWS)), deflater));
+            }
+        } finally {
+            deflater.end();
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(count);
+            out.writeInt(BLOCK_ROWS);
+            out.writeInt(blockCount);
+            out.writeLong(rows.get(0).getId());
+            out.writeLong(rows.get(count - 1).getId());
+            for (Payment payment : rows) {
+                out.writeLong(payment.getId());
+            }
+            writeIndex(out, rows, orderRows, Payment::getOrderId);
+            writeIndex(out, rows, userRows, Payment::getUserId);
+
+            long offset = blockOffsetsOffset(count) + 8L * (blockCount + 1);
+            out.writeLong(offset);
+            for (byte[] block : blocks) {
+                offset += block.length;
+                out.writeLong(offset);
+            }
+            for (byte[] block : blocks) {
+                out.write(block);
+            }
+            out.flush();
+            channel.force(true);
+        }
+    }
+
+    static PaymentSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Not a payment segment: " + file);
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Segment too large to map: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (data.getInt(0) != MAGIC) {
+                throw new IOException("Not a payment segment: " + file);
+            }
+            int version = data.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("Unsupported segment version " + version + ": " + file);
+            }
+            int count = data.getInt(8);
+            int blockRows = data.getInt(12);
+            int blockCount = data.getInt(16);
+            if (count <= 0 || blockRows <= 0 || blockCount != (count + blockRows - 1) / blockRows
+                    || HEADER_SIZE + 32L * count + 8L * (blockCount + 1) > size
+                    || data.getLong(blockOffsetsOffset(count) + 8 * blockCount) != size) {
+                throw new IOException("Truncated or corrupt payment segment: " + file);
+            }
+            return new PaymentSegment(file, data, count, blockRows, data.getLong(20), data.getLong(28));
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    int size() {
+        return count;
+    }
+
+    /**
+     * Whether {@code id} falls within this segment's id range. Lookups by id skip
+     * segments for which this is false without touching their index.
+     */
+    boolean coversId(long id) {
+        return id >= minId && id <= maxId;
+    }
+
+    Optional<Payment> findById(long id) {
+        if (!coversId(id)) {
+            return Optional.empty();
+        }
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = idAt(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return Optional.of(readRows(new int[]{mid}).get(0));
+            }
+        }
+        return Optional.empty();
+    }
+
+    List<Payment> findByOrderId(long orderId) {
+        return readRows(matchingRows(orderIndexOffset(count), orderId));
+    }
+
+    List<Payment> findByUserId(long userId) {
+        return readRows(matchingRows(userIndexOffset(count), userId));
+    }
+
+    private long idAt(int row) {
+        return data.getLong(HEADER_SIZE + 8 * row);
+    }
+
+    private int[] matchingRows(int indexOffset, long key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (data.getLong(indexOffset + INDEX_ENTRY_SIZE * mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int to = low;
+        while (to < count && data.getLong(indexOffset + INDEX_ENTRY_SIZE * to) == key) {
+            to++;
+        }
+        int[] rows = new int[to - low];
+        for (int i = low; i < to; i++) {
+            rows[i - low] = data.getInt(indexOffset + INDEX_ENTRY_SIZE * i + 8);
+        }
+        Arrays.sort(rows);
+        return rows;
+    }
+
+    /**
+     * Decodes the given rows, which must be sorted, one block at a time.
+     */
+    private List<Payment> readRows(int[] wanted) {
+        List<Payment> payments = new ArrayList<>(wanted.length);
+        int from = 0;
+        while (from < wanted.length) {
+            int block = wanted[from] / blockRows;
+            int to = from;
+            while (to < wanted.length && wanted[to] / blockRows == block) {
+                to++;
+            }
+            readBlock(block, wanted, from, to, payments);
+            from = to;
+        }
+        return payments;
+    }
+
+    private void readBlock(int block, int[] wanted, int from, int to, List<Payment> payments) {
+        int firstRow = block * blockRows;
+        int rowsInBlock = Math.min(blockRows, count - firstRow);
+        boolean[] selected = new boolean[rowsInBlock];
+        for (int i = from; i < to; i++) {
+            selected[wanted[i] - firstRow] = true;
+        }
+
+        int offsets = blockOffsetsOffset(count);
+        int start = (int) data.getLong(offsets + 8 * block);
+        int end = (int) data.getLong(offsets + 8 * (block + 1));
+        byte[] compressed = new byte[end - start];
+        data.get(start, compressed);
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(compressed))))) {
+            long[] orderId = readLongs(in, rowsInBlock);
+            long[] userId = readLongs(in, rowsInBlock);
+            long[] amount = readLongs(in, rowsInBlock);
+            String[] currency = readStrings(in, selected);
+            String[] paymentMethod = readStrings(in, selected);
+            byte[] status = in.readNBytes(rowsInBlock);
+            String[] transactionId = readStrings(in, selected);
+            long[] createdAtSeconds = readLongs(in, rowsInBlock);
+            int[] createdAtNanos = new int[rowsInBlock];
+            for (int i = 0; i < rowsInBlock; i++) {
+                createdAtNanos[i] = in.readInt();
+            }
+
+            for (int i = from; i < to; i++) {
+                int row = wanted[i] - firstRow;
+                Payment payment = new Payment(orderId[row], userId[row], new Money(amount[row], currency[row]),
+                        paymentMethod[row], STATUSES[status[row]], transactionId[row],
+                        LocalDateTime.ofEpochSecond(createdAtSeconds[row], createdAtNanos[row], ZoneOffset.UTC));
+                payment.setId(idAt(wanted[i]));
+                payments.add(payment);
+            }
+        } catch (IOException ex) {
+            throw new ArchiveException("Failed to read archive segment " + file, ex);
+        }
+    }
+
+    private static byte[] compressBlock(List<Payment> rows, Deflater deflater) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater, 8 * 1024))) {
+            for (Payment p : rows) {
+                out.writeLong(p.getOrderId());
+            }
+            for (Payment p : rows) {
+                out.writeLong(p.getUserId());
+            }
+            for (Payment p : rows) {
+                out.writeLong(p.getAmount().minorUnits());
+            }
+            for (Payment p : rows) {
+                out.writeUTF(p.getAmount().currency());
+            }
+            for (Payment p : rows) {
+                out.writeUTF(p.getPaymentMethod());
+            }
+            for (Payment p : rows) {
+                out.writeByte(p.getStatus().ordinal());
+            }
+            for (Payment p : rows) {
+                out.writeUTF(p.getTransactionId());
+            }
+            for (Payment p : rows) {
+                out.writeLong(p.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+            }
+            for (Payment p : rows) {
+                out.writeInt(p.getCreatedAt().getNano());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static int orderIndexOffset(int count) {
+        return HEADER_SIZE + 8 * count;
+    }
+
+    private static int userIndexOffset(int count) {
+        return orderIndexOffset(count) + INDEX_ENTRY_SIZE * count;
+    }
+
+    private static int blockOffsetsOffset(int count) {
+        return userIndexOffset(count) + INDEX_ENTRY_SIZE * count;
+    }
+
+    private static int[] sortedRows(List<Payment> rows, ToLongFunction<Payment> key) {
+        Integer[] order = new Integer[rows.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(row -> key.applyAsLong(rows.get(row))));
+        return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static void writeIndex(DataOutputStream out, List<Payment> rows, int[] sortedRows,
+                                   ToLongFunction<Payment> key) throws IOException {
+        for (int row : sortedRows) {
+            out.writeLong(key.applyAsLong(rows.get(row)));
+            out.writeInt(row);
+        }
+    }
+
+    private static long[] readLongs(DataInputStream in, int count) throws IOException {
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+
+    private static String[] readStrings(DataInputStream in, boolean[] selected) throws IOException {
+        String[] values = new String[selected.length];
+        for (int i = 0; i < selected.length; i++) {
+            if (selected[i]) {
+                values[i] = in.readUTF();
+            } else {
+                // writeUTF prefixes each string with its encoded length
+                in.skipNBytes(in.readUnsignedShort());
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,174 @@
+package com.ecom.payment.archive;
+
+import com.ecom.payment.exception.ArchiveException;
+import com.ecom.payment.model.Payment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Cold tier for settled payments: a directory of immutable {@link PaymentSegment} files.
+ * Active only with {@code payment.archive.enabled=true}, and then
+ * {@code payment.archive.directory} must be set explicitly.
+ * <p>
+ * Segments are keyed by payment id, which is only stable while the database is. An
+ * in-memory database restarts its ids on every boot, so archived payments would come
+ * back as current ones under reused ids; the archive refuses to start on one.
+ * <p>
+ * Segments are memory-mapped, so only their headers are parsed at startup and
+ * nothing per row stays on the heap. A lookup by id skips segments whose id range
+ * cannot contain it, and row data is only decoded for the blocks a lookup matches.
+ * Segments are searched newest first. A payment can
+ * appear in more than one segment if its hot row was not deleted after archiving
+ * (crash, or a status change in between) and it was archived again later, so lookups
+ * return the newest copy and {@link #findByUserId} returns each payment id once.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.archive.enabled", havingValue = "true")
+public class SegmentPaymentArchive implements PaymentArchive {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final List<String> IN_MEMORY_URL_PREFIXES =
+            List.of("jdbc:h2:mem:", "jdbc:hsqldb:mem:", "jdbc:derby:memory:");
+
+    private final Path directory;
+    private final List<PaymentSegment> segments = new CopyOnWriteArrayList<>();
+    private final AtomicInteger appendSequence = new AtomicInteger();
+
+    public SegmentPaymentArchive(@Value("${payment.archive.directory}") Path directory,
+                                 @Value("${spring.datasource.url:}") String datasourceUrl) {
+        if (isInMemory(datasourceUrl)) {
+            throw new IllegalStateException("payment.archive.enabled requires a persistent database, "
+                    + "but spring.datasource.url is " + (datasourceUrl.isBlank() ? "not set" : datasourceUrl));
+        }
+        this.directory = directory;
+        loadSegments();
+    }
+
+    @Override
+    public Optional<Payment> findById(Long id) {
+        for (PaymentSegment segment : segments) {
+            Optional<Payment> payment = segment.findById(id);
+            if (payment.isPresent()) {
+                return payment;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Payment> findByOrderId(Long orderId) {
+        for (PaymentSegment segment : segments) {
+            List<Payment> payments = segment.findByOrderId(orderId);
+            if (!payments.isEmpty()) {
+                return Optional.of(payments.get(0));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<Payment> findByUserId(Long userId) {
+        Map<Long, Payment> payments = new LinkedHashMap<>();
+        for (PaymentSegment segment : segments) {
+            for (Payment payment : segment.findByUserId(userId)) {
+                payments.putIfAbsent(payment.getId(), payment);
+            }
+        }
+        return new ArrayList<>(payments.values());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Writes {@code payments} as a new segment. The file is written and forced to disk
+     * under a temporary name, moved into place, and the directory is then forced too,
+     * so once this returns the segment survives a crash and the caller may delete the
+     * hot rows. A crash before that never leaves a partial segment behind.
+     */
+    @Override
+    public synchronized void append(List<Payment> payments) {
+        if (payments.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            long minId = payments.stream().mapToLong(Payment::getId).min().getAsLong();
+            long maxId = payments.stream().mapToLong(Payment::getId).max().getAsLong();
+            // Creation time first, so that sorting names in reverse puts the newest segment first
+            String name = String.format("payments-%013d-%06d-%019d-%019d", System.currentTimeMillis(),
+                    appendSequence.incrementAndGet(), minId, maxId);
+            Path tmp = directory.resolve(name + TMP_SUFFIX);
+            Path target = directory.resolve(name + SEGMENT_SUFFIX);
+
+            PaymentSegment.write(tmp, payments);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+            segments.add(0, PaymentSegment.open(target));
+        } catch (IOException ex) {
+            throw new ArchiveException("Failed to write archive segment to " + directory, ex);
+        }
+    }
+
+    private void syncDirectory() throws IOException {
+        // Makes the rename durable; without it the new name can be lost on power failure
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    static boolean isInMemory(String datasourceUrl) {
+        // Without a URL Spring Boot falls back to an embedded in-memory database
+        if (datasourceUrl == null || datasourceUrl.isBlank()) {
+            return true;
+        }
+        String url = datasourceUrl.toLowerCase(Locale.ROOT);
+        return IN_MEMORY_URL_PREFIXES.stream().anyMatch(url::startsWith);
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    private void loadSegments() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> paths = files.toList();
+            // A leftover temporary file is a segment whose append never completed
+            for (Path path : paths) {
+                if (path.getFileName().toString().endsWith(TMP_SUFFIX)) {
+                    Files.delete(path);
+                }
+            }
+            paths = paths.stream()
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparing(Path::toString).reversed())
+                    .toList();
+            for (Path path : paths) {
+                segments.add(PaymentSegment.open(path));
+            }
+        } catch (IOException ex) {
+            throw new ArchiveException("Failed to load archive segments from " + directory, ex);
+        }
+    }
+}
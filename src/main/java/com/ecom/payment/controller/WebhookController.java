@@ -0,0 +1,45 @@
+package com.ecom.payment.controller;
+
+import com.ecom.payment.dto.WebhookEndpointResponse;
+import com.ecom.payment.dto.WebhookRegistrationRequest;
+import com.ecom.payment.webhook.WebhookService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/webhooks")
+public class WebhookController {
+
+    private final WebhookService webhookService;
+
+    public WebhookController(WebhookService webhookService) {
+        this.webhookService = webhookService;
+    }
+
+    @PostMapping
+    public ResponseEntity<WebhookEndpointResponse> register(@Valid @RequestBody WebhookRegistrationRequest request) {
+        WebhookEndpointResponse response = webhookService.register(request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<WebhookEndpointResponse>> getEndpointsByUserId(@PathVariable Long userId) {
+        return ResponseEntity.ok(webhookService.getEndpointsByUserId(userId));
+    }
+
+    @DeleteMapping("/user/{userId}/{id}")
+    public ResponseEntity<Void> unregister(@PathVariable Long userId, @PathVariable Long id) {
+        webhookService.unregister(userId, id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.ecom.payment.dto;
+
+import com.ecom.payment.model.Money;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link Money} as a bare JSON decimal number, keeping the original
+ * {@code "amount": 59.98} wire format.
+ */
+public class MoneyAmountSerializer extends StdSerializer<Money> {
+
+    public MoneyAmountSerializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public void serialize(Money value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeNumber(value.toPlainString());
+    }
+}
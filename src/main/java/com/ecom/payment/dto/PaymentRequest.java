@@ -15,6 +15,8 @@ public record PaymentRequest(
         @Positive(message = "Amount must be positive")
         BigDecimal amount,
 
-        String paymentMethod
+        String paymentMethod,
+
+        String currency
 ) {
 }
@@ -1,17 +1,25 @@
 package com.ecom.payment.dto;
 
+import com.ecom.payment.model.Money;
 import com.ecom.payment.model.PaymentStatus;
-import java.math.BigDecimal;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.time.LocalDateTime;
 
 public record PaymentResponse(
         Long id,
         Long orderId,
         Long userId,
-        BigDecimal amount,
+        @JsonSerialize(using = MoneyAmountSerializer.class)
+        Money amount,
         PaymentStatus status,
         String transactionId,
         String message,
         LocalDateTime createdAt
 ) {
+
+    @JsonProperty("currency")
+    public String currency() {
+        return amount.currency();
+    }
 }
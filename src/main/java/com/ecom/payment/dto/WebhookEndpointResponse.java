@@ -0,0 +1,18 @@
+package com.ecom.payment.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+public record WebhookEndpointResponse(
+        Long id,
+        Long userId,
+        String url,
+
+        // Only returned when the endpoint is created
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String secret,
+
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,13 @@
+package com.ecom.payment.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record WebhookRegistrationRequest(
+        @NotNull(message = "User ID is required")
+        Long userId,
+
+        @NotBlank(message = "URL is required")
+        String url
+) {
+}
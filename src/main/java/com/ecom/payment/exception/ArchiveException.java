@@ -0,0 +1,12 @@
+package com.ecom.payment.exception;
+
+public class ArchiveException extends RuntimeException {
+
+    public ArchiveException(String message) {
+        super(message);
+    }
+
+    public ArchiveException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ecom.payment.exception;
+
+public class InvalidAmountException extends RuntimeException {
+
+    public InvalidAmountException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ecom.payment.exception;
+
+public class InvalidWebhookUrlException extends RuntimeException {
+
+    public InvalidWebhookUrlException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ecom.payment.exception;
+
+public class WebhookEndpointNotFoundException extends RuntimeException {
+
+    public WebhookEndpointNotFoundException(String message) {
+        super(message);
+    }
+}
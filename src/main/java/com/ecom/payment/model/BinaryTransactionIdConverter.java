@@ -0,0 +1,41 @@
+package com.ecom.payment.model;
+
+import jakarta.persistence.AttributeConverter;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Stores a UUID transaction ID in its 16-byte binary form instead of the 36-character
+ * string, so the unique index holds less than half the key bytes per entry.
+ * <p>
+ * Not applied by default; {@code payment.transaction-id.storage=binary} maps
+ * {@link Payment#getTransactionId()} through it (see {@code BinaryTransactionIdConfiguration}).
+ * Byte order is big-endian, so the index order of UUIDv7 values stays chronological.
+ */
+public class BinaryTransactionIdConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String transactionId) {
+        if (transactionId == null) {
+            return null;
+        }
+        UUID uuid = UUID.fromString(transactionId);
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] column) {
+        if (column == null) {
+            return null;
+        }
+        if (column.length != 16) {
+            throw new IllegalArgumentException("Binary transaction id must be 16 bytes: " + column.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(column);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
@@ -0,0 +1,107 @@
+package com.ecom.payment.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fixed-point monetary amount held as a {@code long} count of the currency's minor
+ * units (cents for USD, yen for JPY) plus its ISO 4217 code.
+ * <p>
+ * Conversion from decimal is exact: an amount with more fraction digits than the
+ * currency allows, or one that overflows a {@code long}, is rejected rather than rounded.
+ * Fraction digits are looked up once per currency code and cached, so construction and
+ * formatting stay off the {@link Currency} registry on the hot path.
+ */
+public record Money(long minorUnits, String currency) {
+
+    public static final String DEFAULT_CURRENCY = "USD";
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L};
+
+    // Only valid codes are cached, so this is bounded by the ISO 4217 list
+    private static final Map<String, Integer> FRACTION_DIGITS = new ConcurrentHashMap<>();
+
+    public Money {
+        fractionDigits(currency);
+    }
+
+    public static Money of(BigDecimal amount, String currency) {
+        int scale = fractionDigits(currency);
+        try {
+            long minorUnits = amount.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+            return new Money(minorUnits, currency);
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Amount " + amount.toPlainString()
+                    + " cannot be represented exactly in " + currency, ex);
+        }
+    }
+
+    public int scale() {
+        return fractionDigits(currency);
+    }
+
+    public Money plus(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot add " + other.currency + " to " + currency);
+        }
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale());
+    }
+
+    /**
+     * Formats the amount as a plain decimal string (e.g. {@code "59.98"}) without
+     * going through {@link BigDecimal}.
+     */
+    public String toPlainString() {
+        int scale = scale();
+        if (scale == 0) {
+            return Long.toString(minorUnits);
+        }
+        long factor = POWERS_OF_TEN[scale];
+        long whole = minorUnits / factor;
+        long fraction = Math.abs(minorUnits % factor);
+
+        StringBuilder sb = new StringBuilder(24);
+        if (minorUnits < 0 && whole == 0) {
+            sb.append('-');
+        }
+        sb.append(whole).append('.');
+        String digits = Long.toString(fraction);
+        for (int i = digits.length(); i < scale; i++) {
+            sb.append('0');
+        }
+        return sb.append(digits).toString();
+    }
+
+    private static int fractionDigits(String currency) {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency is required");
+        }
+        Integer cached = FRACTION_DIGITS.get(currency);
+        if (cached != null) {
+            return cached;
+        }
+        int digits = lookupFractionDigits(currency);
+        FRACTION_DIGITS.put(currency, digits);
+        return digits;
+    }
+
+    private static int lookupFractionDigits(String currency) {
+        int digits;
+        try {
+            digits = Currency.getInstance(currency).getDefaultFractionDigits();
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown currency: " + currency, ex);
+        }
+        if (digits < 0 || digits >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("Unsupported currency: " + currency);
+        }
+        return digits;
+    }
+}
@@ -7,12 +7,15 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
-import java.math.BigDecimal;
+import jakarta.persistence.Transient;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_status_created_at", columnList = "status, createdAt")
+})
 public class Payment {
 
     @Id
@@ -25,8 +28,17 @@ public class Payment {
     @Column(nullable = false)
     private Long userId;
 
-    @Column(nullable = false)
-    private BigDecimal amount;
+    // Not "amount": that column held decimal major units, and reusing it would silently
+    // reinterpret existing rows 100x too small
+    @Column(name = "amount_minor", nullable = false)
+    private long amountMinorUnits;
+
+    @Column(nullable = false, length = 3)
+    private String currency = Money.DEFAULT_CURRENCY;
+
+    // Built on first read so serialising a page of payments does not allocate a Money per access
+    @Transient
+    private Money amount;
 
     @Column(nullable = false)
     private String paymentMethod = "MOCK_CARD";
@@ -44,11 +56,11 @@ public class Payment {
     public Payment() {
     }
 
-    public Payment(Long orderId, Long userId, BigDecimal amount, String paymentMethod,
+    public Payment(Long orderId, Long userId, Money amount, String paymentMethod,
                    PaymentStatus status, String transactionId, LocalDateTime createdAt) {
         this.orderId = orderId;
         this.userId = userId;
-        this.amount = amount;
+        setAmount(amount);
         this.paymentMethod = paymentMethod;
         this.status = status;
         this.transactionId = transactionId;
@@ -79,11 +91,18 @@ public class Payment {
         this.userId = userId;
     }
 
-    public BigDecimal getAmount() {
-        return amount;
+    public Money getAmount() {
+        Money cached = amount;
+        if (cached == null || cached.minorUnits() != amountMinorUnits || !cached.currency().equals(currency)) {
+            cached = new Money(amountMinorUnits, currency);
+            amount = cached;
+        }
+        return cached;
     }
 
-    public void setAmount(BigDecimal amount) {
+    public void setAmount(Money amount) {
+        this.amountMinorUnits = amount.minorUnits();
+        this.currency = amount.currency();
         this.amount = amount;
     }
 
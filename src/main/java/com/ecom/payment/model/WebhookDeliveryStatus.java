@@ -0,0 +1,6 @@
+package com.ecom.payment.model;
+
+public enum WebhookDeliveryStatus {
+    PENDING,
+    DEAD
+}
@@ -0,0 +1,86 @@
+package com.ecom.payment.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+
+/**
+ * A merchant URL that receives status changes for the payments of one user.
+ */
+@Entity
+@Table(name = "webhook_endpoints", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_webhook_endpoints_user_id_url", columnNames = {"userId", "url"})
+})
+public class WebhookEndpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 2048)
+    private String url;
+
+    @Column(nullable = false, length = 64)
+    private String secret;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public WebhookEndpoint() {
+    }
+
+    public WebhookEndpoint(Long userId, String url, String secret, LocalDateTime createdAt) {
+        this.userId = userId;
+        this.url = url;
+        this.secret = secret;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
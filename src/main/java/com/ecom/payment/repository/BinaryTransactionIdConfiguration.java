@@ -0,0 +1,28 @@
+package com.ecom.payment.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Switches {@code payments.transaction_id} to 16-byte binary storage when
+ * {@code payment.transaction-id.storage=binary}. The override lives in a JPA mapping
+ * file rather than on the entity so the default string column is untouched; the
+ * transaction ID is still a string everywhere above the persistence layer.
+ * <p>
+ * This changes the column type: switch it only on a fresh schema, or after migrating
+ * the existing column.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "payment.transaction-id.storage", havingValue = "binary")
+public class BinaryTransactionIdConfiguration {
+
+    static final String MAPPING_FILE = "META-INF/binary-transaction-id.orm.xml";
+
+    @Bean
+    EntityManagerFactoryBuilderCustomizer binaryTransactionIdMapping() {
+        return builder -> builder.setPersistenceUnitPostProcessors(
+                unit -> unit.addMappingFileName(MAPPING_FILE));
+    }
+}
@@ -1,9 +1,19 @@
 package com.ecom.payment.repository;
 
 import com.ecom.payment.model.Payment;
+import com.ecom.payment.model.PaymentStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +25,54 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findByUserId(Long userId);
 
     Optional<Payment> findByTransactionId(String transactionId);
+
+    @Query("select p.id from Payment p where p.status = :status and p.createdAt < :cutoff order by p.createdAt")
+    List<Long> findIdsByStatusAndCreatedAtBefore(@Param("status") PaymentStatus status,
+                                                 @Param("cutoff") LocalDateTime cutoff,
+                                                 Pageable pageable);
+
+    /**
+     * Payments that may leave the hot table, oldest id first: {@code FAILED} and
+     * {@code REFUNDED} ones created before {@code settledCutoff}, and {@code SUCCESS} ones,
+     * which can still be refunded, created before {@code refundableCutoff}.
+     */
+    @Query("select p from Payment p"
+            + " where (p.status in (com.ecom.payment.model.PaymentStatus.FAILED,"
+            + " com.ecom.payment.model.PaymentStatus.REFUNDED) and p.createdAt < :settledCutoff)"
+            + " or (p.status = com.ecom.payment.model.PaymentStatus.SUCCESS and p.createdAt < :refundableCutoff)"
+            + " order by p.id")
+    List<Payment> findArchivable(@Param("settledCutoff") LocalDateTime settledCutoff,
+                                 @Param("refundableCutoff") LocalDateTime refundableCutoff,
+                                 Pageable pageable);
+
+    /**
+     * Loads the given payments that are still in {@code status} and locks them until the
+     * surrounding transaction ends, so a following update applies to exactly these rows.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Payment p where p.id in :ids and p.status = :status")
+    List<Payment> findByIdInAndStatusForUpdate(@Param("ids") Collection<Long> ids,
+                                               @Param("status") PaymentStatus status);
+
+    long countByStatusAndCreatedAtBefore(PaymentStatus status, LocalDateTime cutoff);
+
+    /**
+     * Moves the given payments from {@code from} to {@code to} in one statement.
+     * Rows whose status has already moved on are left untouched.
+     */
+    @Modifying
+    @Transactional
+    @Query("update Payment p set p.status = :to where p.id in :ids and p.status = :from")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("from") PaymentStatus from,
+                     @Param("to") PaymentStatus to);
+
+    /**
+     * Deletes the given payments only if they are still in {@code status}.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from Payment p where p.id in :ids and p.status = :status")
+    int deleteByIdInAndStatus(@Param("ids") Collection<Long> ids,
+                              @Param("status") PaymentStatus status);
 }
@@ -0,0 +1,33 @@
+package com.ecom.payment.repository;
+
+import com.ecom.payment.model.WebhookDelivery;
+import com.ecom.payment.model.WebhookDeliveryStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WebhookDeliveryRepository extends JpaRepository<WebhookDelivery, Long> {
+
+    List<WebhookDelivery> findByStatus(WebhookDeliveryStatus status);
+
+    long countByStatus(WebhookDeliveryStatus status);
+
+    @Modifying
+    @Transactional
+    @Query("delete from WebhookDelivery d where d.endpointId = :endpointId and d.status = :status")
+    int deleteByEndpointIdAndStatus(@Param("endpointId") Long endpointId,
+                                    @Param("status") WebhookDeliveryStatus status);
+
+    @Modifying
+    @Transactional
+    @Query("delete from WebhookDelivery d where d.status = :status and d.createdAt < :cutoff")
+    int deleteByStatusAndCreatedAtBefore(@Param("status") WebhookDeliveryStatus status,
+                                         @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,18 @@
+package com.ecom.payment.repository;
+
+import com.ecom.payment.model.WebhookEndpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WebhookEndpointRepository extends JpaRepository<WebhookEndpoint, Long> {
+
+    List<WebhookEndpoint> findByUserId(Long userId);
+
+    Optional<WebhookEndpoint> findByUserIdAndUrl(Long userId, String url);
+
+    Optional<WebhookEndpoint> findByIdAndUserId(Long id, Long userId);
+}
@@ -1,29 +1,42 @@
 package com.ecom.payment.service;
 
+import com.ecom.payment.archive.PaymentArchive;
 import com.ecom.payment.dto.PaymentRequest;
 import com.ecom.payment.dto.PaymentResponse;
 import com.ecom.payment.dto.RefundRequest;
+import com.ecom.payment.exception.InvalidAmountException;
 import com.ecom.payment.exception.PaymentNotFoundException;
 import com.ecom.payment.exception.PaymentProcessingException;
+import com.ecom.payment.model.Money;
 import com.ecom.payment.model.Payment;
 import com.ecom.payment.model.PaymentStatus;
 import com.ecom.payment.repository.PaymentRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
-import java.util.UUID;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class PaymentService {
 
     private final PaymentRepository paymentRepository;
+    private final PaymentArchive paymentArchive;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final ApplicationEventPublisher eventPublisher;
     private final Random random;
 
-    public PaymentService(PaymentRepository paymentRepository) {
+    public PaymentService(PaymentRepository paymentRepository, PaymentArchive paymentArchive,
+                          TransactionIdGenerator transactionIdGenerator, ApplicationEventPublisher eventPublisher) {
         this.paymentRepository = paymentRepository;
+        this.paymentArchive = paymentArchive;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.eventPublisher = eventPublisher;
         this.random = new Random();
     }
 
@@ -31,18 +44,25 @@ public class PaymentService {
         Payment payment = new Payment();
         payment.setOrderId(request.orderId());
         payment.setUserId(request.userId());
-        payment.setAmount(request.amount());
+        payment.setAmount(toMoney(request));
         payment.setPaymentMethod(request.paymentMethod() != null ? request.paymentMethod() : "MOCK_CARD");
         payment.setStatus(PaymentStatus.PENDING);
-        payment.setTransactionId(UUID.randomUUID().toString());
+        payment.setTransactionId(transactionIdGenerator.nextId());
         payment.setCreatedAt(LocalDateTime.now());
 
         payment = paymentRepository.save(payment);
 
         // Mock payment processing: 90% success, 10% failure
         boolean isSuccess = random.nextInt(10) < 9;
-        payment.setStatus(isSuccess ? PaymentStatus.SUCCESS : PaymentStatus.FAILED);
-        payment = paymentRepository.save(payment);
+        PaymentStatus outcome = isSuccess ? PaymentStatus.SUCCESS : PaymentStatus.FAILED;
+
+        // Only move out of PENDING if the sweeper has not expired the payment in the meantime
+        if (paymentRepository.updateStatus(List.of(payment.getId()), PaymentStatus.PENDING, outcome) == 0) {
+            Payment expired = paymentRepository.findById(payment.getId()).orElse(payment);
+            return toPaymentResponse(expired, "Payment expired before processing completed");
+        }
+        payment.setStatus(outcome);
+        eventPublisher.publishEvent(PaymentStatusChangedEvent.of(payment));
 
         String message = isSuccess ? "Payment processed successfully" : "Payment processing failed";
         return toPaymentResponse(payment, message);
@@ -50,26 +70,38 @@ public class PaymentService {
 
     public PaymentResponse getPaymentById(Long id) {
         Payment payment = paymentRepository.findById(id)
+                .or(() -> paymentArchive.findById(id))
                 .orElseThrow(() -> new PaymentNotFoundException("Payment not found with id: " + id));
         return toPaymentResponse(payment, "Payment retrieved successfully");
     }
 
     public PaymentResponse getPaymentByOrderId(Long orderId) {
         Payment payment = paymentRepository.findByOrderId(orderId)
+                .or(() -> paymentArchive.findByOrderId(orderId))
                 .orElseThrow(() -> new PaymentNotFoundException("Payment not found for order id: " + orderId));
         return toPaymentResponse(payment, "Payment retrieved successfully");
     }
 
     public List<PaymentResponse> getPaymentsByUserId(Long userId) {
-        List<Payment> payments = paymentRepository.findByUserId(userId);
+        List<Payment> payments = new ArrayList<>(paymentRepository.findByUserId(userId));
+        Set<String> hotTransactionIds = new HashSet<>();
+        payments.forEach(payment -> hotTransactionIds.add(payment.getTransactionId()));
+        paymentArchive.findByUserId(userId).stream()
+                .filter(payment -> !hotTransactionIds.contains(payment.getTransactionId()))
+                .forEach(payments::add);
         return payments.stream()
                 .map(payment -> toPaymentResponse(payment, "Payment retrieved successfully"))
                 .collect(Collectors.toList());
     }
 
     public PaymentResponse refundPayment(Long paymentId, RefundRequest request) {
-        Payment payment = paymentRepository.findById(paymentId)
-                .orElseThrow(() -> new PaymentNotFoundException("Payment not found with id: " + paymentId));
+        Payment payment = paymentRepository.findById(paymentId).orElse(null);
+        if (payment == null) {
+            if (paymentArchive.findById(paymentId).isPresent()) {
+                throw new PaymentProcessingException("Payment is past its refund window and can no longer be refunded");
+            }
+            throw new PaymentNotFoundException("Payment not found with id: " + paymentId);
+        }
 
         if (payment.getStatus() == PaymentStatus.REFUNDED) {
             throw new PaymentProcessingException("Payment has already been refunded");
@@ -79,14 +111,26 @@ public class PaymentService {
             throw new PaymentProcessingException("Only successful payments can be refunded");
         }
 
+        if (paymentRepository.updateStatus(List.of(paymentId), PaymentStatus.SUCCESS, PaymentStatus.REFUNDED) == 0) {
+            throw new PaymentProcessingException("Payment status changed while the refund was being processed");
+        }
         payment.setStatus(PaymentStatus.REFUNDED);
-        payment = paymentRepository.save(payment);
+        eventPublisher.publishEvent(PaymentStatusChangedEvent.of(payment));
 
         String message = "Payment refunded successfully" +
                 (request.reason() != null ? ". Reason: " + request.reason() : "");
         return toPaymentResponse(payment, message);
     }
 
+    private static Money toMoney(PaymentRequest request) {
+        String currency = request.currency() != null ? request.currency() : Money.DEFAULT_CURRENCY;
+        try {
+            return Money.of(request.amount(), currency);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidAmountException(ex.getMessage(), ex);
+        }
+    }
+
     private PaymentResponse toPaymentResponse(Payment payment, String message) {
         return new PaymentResponse(
                 payment.getId(),
@@ -0,0 +1,35 @@
+package com.ecom.payment.service;
+
+import com.ecom.payment.dto.MoneyAmountSerializer;
+import com.ecom.payment.model.Money;
+import com.ecom.payment.model.Payment;
+import com.ecom.payment.model.PaymentStatus;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link PaymentService} when a payment reaches {@code SUCCESS},
+ * {@code FAILED} or {@code REFUNDED}. Also the JSON body of a webhook event.
+ */
+public record PaymentStatusChangedEvent(
+        Long paymentId,
+        Long orderId,
+        Long userId,
+        @JsonSerialize(using = MoneyAmountSerializer.class)
+        Money amount,
+        PaymentStatus status,
+        String transactionId,
+        LocalDateTime occurredAt
+) {
+
+    public static PaymentStatusChangedEvent of(Payment payment) {
+        return new PaymentStatusChangedEvent(payment.getId(), payment.getOrderId(), payment.getUserId(),
+                payment.getAmount(), payment.getStatus(), payment.getTransactionId(), LocalDateTime.now());
+    }
+
+    @JsonProperty("currency")
+    public String currency() {
+        return amount.currency();
+    }
+}
@@ -0,0 +1,126 @@
+package com.ecom.payment.service;
+
+import com.ecom.payment.model.Payment;
+import com.ecom.payment.model.PaymentStatus;
+import com.ecom.payment.repository.PaymentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Expires payments left in {@code PENDING} longer than {@code payment.sweeper.pending-timeout},
+ * e.g. because the process died between saving a payment and recording its outcome in
+ * {@link PaymentService#processPayment}.
+ * <p>
+ * Each batch is one id lookup on the {@code (status, createdAt)} index followed by a
+ * short transaction that locks the rows still {@code PENDING} and moves exactly those to
+ * {@code FAILED}, so live writes are never held behind a long-running sweep. A
+ * {@link PaymentStatusChangedEvent} is published for every expired payment once its
+ * batch has committed. A single run is capped at {@code max-batches} batches.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class PendingPaymentSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(PendingPaymentSweeper.class);
+
+    private final PaymentRepository paymentRepository;
+    private final TransactionOperations transactionOperations;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration pendingTimeout;
+    private final int batchSize;
+    private final int maxBatches;
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter expiredCounter;
+    private final Timer sweepTimer;
+
+    public PendingPaymentSweeper(PaymentRepository paymentRepository,
+                                 TransactionOperations transactionOperations,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${payment.sweeper.pending-timeout:PT15M}") Duration pendingTimeout,
+                                 @Value("${payment.sweeper.batch-size:500}") int batchSize,
+                                 @Value("${payment.sweeper.max-batches:200}") int maxBatches) {
+        this.paymentRepository = paymentRepository;
+        this.transactionOperations = transactionOperations;
+        this.eventPublisher = eventPublisher;
+        this.pendingTimeout = pendingTimeout;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        Gauge.builder("payments.sweeper.backlog", backlog, AtomicLong::get)
+                .description("Stale PENDING payments left after the last sweep")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("payments.sweeper.expired")
+                .description("Stale PENDING payments moved to FAILED")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("payments.sweeper.duration")
+                .description("Time taken by one sweep run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${payment.sweeper.interval:PT1M}",
+            fixedDelayString = "${payment.sweeper.interval:PT1M}")
+    public void sweep() {
+        sweepTimer.record(() -> {
+            sweepOnce();
+        });
+    }
+
+    int sweepOnce() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(pendingTimeout);
+        Pageable firstBatch = PageRequest.of(0, batchSize);
+        int expired = 0;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Long> ids = paymentRepository.findIdsByStatusAndCreatedAtBefore(
+                    PaymentStatus.PENDING, cutoff, firstBatch);
+            if (ids.isEmpty()) {
+                break;
+            }
+            expired += expire(ids);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+
+        backlog.set(paymentRepository.countByStatusAndCreatedAtBefore(PaymentStatus.PENDING, cutoff));
+        expiredCounter.increment(expired);
+        if (expired > 0) {
+            log.warn("Expired {} payments stuck in PENDING since before {}", expired, cutoff);
+        }
+        return expired;
+    }
+
+    private int expire(List<Long> ids) {
+        List<Payment> claimed = transactionOperations.execute(status -> {
+            // Rows that completed since the lookup are skipped; the rest stay locked until commit
+            List<Payment> stale = paymentRepository.findByIdInAndStatusForUpdate(ids, PaymentStatus.PENDING);
+            if (!stale.isEmpty()) {
+                paymentRepository.updateStatus(stale.stream().map(Payment::getId).toList(),
+                        PaymentStatus.PENDING, PaymentStatus.FAILED);
+            }
+            return stale;
+        });
+        for (Payment payment : claimed) {
+            payment.setStatus(PaymentStatus.FAILED);
+            eventPublisher.publishEvent(PaymentStatusChangedEvent.of(payment));
+        }
+        return claimed.size();
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecom.payment.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates UUIDv7-layout transaction IDs: a 48-bit Unix millisecond timestamp,
+ * a 12-bit sequence, a 16-bit node prefix and 46 random bits.
+ * <p>
+ * IDs from one instance are strictly increasing, so inserts land at the right-hand
+ * edge of the unique {@code transactionId} index instead of at random pages. The
+ * timestamp and sequence share a single {@link AtomicLong}; when the sequence
+ * overflows within a millisecond the timestamp is borrowed from the next one.
+ */
+@Component
+public class TimeOrderedTransactionIdGenerator implements TransactionIdGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long NODE_MASK = 0xFFFFL;
+    private static final long RANDOM_MASK = (1L << 46) - 1;
+
+    private final long nodeBits;
+    private final AtomicLong lastTimestampAndSequence = new AtomicLong();
+
+    public TimeOrderedTransactionIdGenerator(@Value("${payment.transaction-id.node-id:0}") int nodeId) {
+        if (nodeId < 0 || nodeId > NODE_MASK) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + NODE_MASK + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << 46;
+    }
+
+    @Override
+    public String nextId() {
+        return nextUuid().toString();
+    }
+
+    public UUID nextUuid() {
+        long candidate = System.currentTimeMillis() << SEQUENCE_BITS;
+        long next = lastTimestampAndSequence.accumulateAndGet(candidate,
+                (last, now) -> now > last ? now : last + 1);
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+
+        long mostSigBits = (timestamp << 16) | 0x7000L | sequence;
+        long leastSigBits = 0x8000000000000000L | nodeBits
+                | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,9 @@
+package com.ecom.payment.service;
+
+/**
+ * Source of the {@code transactionId} assigned to every new payment.
+ */
+public interface TransactionIdGenerator {
+
+    String nextId();
+}
@@ -0,0 +1,83 @@
+package com.ecom.payment.webhook;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timer wheel for retry scheduling. Scheduling is O(1) from any thread; expiry
+ * is driven by a single thread calling {@link #advance()} once per tick, which only
+ * touches the bucket for the new tick. Delays are rounded up to whole ticks, and a
+ * delay longer than one revolution is tracked with a remaining-rounds counter.
+ */
+final class TimerWheel<T> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final ArrayDeque<Timeout<T>>[] buckets;
+    private final Queue<Timeout<T>> scheduled = new ConcurrentLinkedQueue<>();
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(Duration tickDuration, int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = Math.max(1, tickDuration.toMillis());
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayDeque[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Schedules {@code item} to be returned by the first {@link #advance()} at least
+     * {@code delay} after now. A zero delay fires on the next tick.
+     */
+    void schedule(T item, Duration delay) {
+        long ticks = Math.max(1, (delay.toMillis() + tickMillis - 1) / tickMillis);
+        scheduled.add(new Timeout<>(item, ticks));
+    }
+
+    /**
+     * Moves the wheel forward one tick and returns the items that expired.
+     * Must only be called from one thread.
+     */
+    List<T> advance() {
+        for (Timeout<T> timeout; (timeout = scheduled.poll()) != null; ) {
+            timeout.rounds = (timeout.ticks - 1) / buckets.length;
+            buckets[(int) ((tick + timeout.ticks) & mask)].add(timeout);
+        }
+
+        tick++;
+        List<T> expired = new ArrayList<>();
+        Iterator<Timeout<T>> it = buckets[(int) (tick & mask)].iterator();
+        while (it.hasNext()) {
+            Timeout<T> timeout = it.next();
+            if (timeout.rounds == 0) {
+                expired.add(timeout.item);
+                it.remove();
+            } else {
+                timeout.rounds--;
+            }
+        }
+        return expired;
+    }
+
+    private static final class Timeout<T> {
+
+        private final T item;
+        private final long ticks;
+        private long rounds;
+
+        private Timeout(T item, long ticks) {
+            this.item = item;
+            this.ticks = ticks;
+        }
+    }
+}
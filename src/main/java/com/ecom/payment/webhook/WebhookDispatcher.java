@@ -0,0 +1,374 @@
+package com.ecom.payment.webhook;
+
+import com.ecom.payment.model.WebhookDelivery;
+import com.ecom.payment.model.WebhookDeliveryStatus;
+import com.ecom.payment.model.WebhookEndpoint;
+import com.ecom.payment.repository.WebhookDeliveryRepository;
+import com.ecom.payment.repository.WebhookEndpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers queued webhook events.
+ * <p>
+ * Every queued event is a {@link WebhookDelivery} row, so the queue survives restarts;
+ * on startup all pending rows are put back on the {@link TimerWheel}. The dispatcher
+ * starts before the web server so that happens before new events arrive, and a
+ * delivery id is never on the wheel twice. On each tick the
+ * deliveries that came due are grouped by endpoint and posted as JSON arrays of up to
+ * {@code max-batch-size} events with the non-blocking {@link HttpClient}, signed with the
+ * endpoint's secret (see {@link WebhookSignatures}). Each endpoint URL
+ * has at most {@code max-concurrency-per-endpoint} requests in flight; batches over the
+ * limit wait for the next tick, where they coalesce with newer events. Failed batches
+ * are retried with exponential backoff until {@code max-attempts}, then marked
+ * {@code DEAD}. Delivery is at-least-once. {@code DEAD} rows are kept for inspection
+ * and purged once they are older than {@code dead-retention}, so endpoints that never
+ * recover do not grow the table without bound.
+ */
+@Component
+public class WebhookDispatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookDispatcher.class);
+
+    private final WebhookDeliveryRepository deliveryRepository;
+    private final WebhookEndpointRepository endpointRepository;
+    private final WebhookUrlValidator urlValidator;
+    private final HttpClient httpClient;
+    private final TimerWheel<Long> wheel;
+    private final Duration tick;
+    private final int maxBatchSize;
+    private final int maxConcurrencyPerEndpoint;
+    private final Duration requestTimeout;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+    private final long queueCapacity;
+    private final Duration deadRetention;
+    private final Set<Long> onWheel = ConcurrentHashMap.newKeySet();
+    private final Map<String, Semaphore> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong queued = new AtomicLong();
+    private final Counter deliveredCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+    private final Counter droppedCounter;
+    private volatile ScheduledExecutorService ticker;
+
+    public WebhookDispatcher(WebhookDeliveryRepository deliveryRepository,
+                             WebhookEndpointRepository endpointRepository,
+                             WebhookUrlValidator urlValidator,
+                             MeterRegistry meterRegistry,
+                             @Value("${payment.webhook.tick:PT0.1S}") Duration tick,
+                             @Value("${payment.webhook.wheel-size:512}") int wheelSize,
+                             @Value("${payment.webhook.max-batch-size:50}") int maxBatchSize,
+                             @Value("${payment.webhook.max-concurrency-per-endpoint:4}") int maxConcurrencyPerEndpoint,
+                             @Value("${payment.webhook.request-timeout:PT10S}") Duration requestTimeout,
+                             @Value("${payment.webhook.initial-backoff:PT1S}") Duration initialBackoff,
+                             @Value("${payment.webhook.max-backoff:PT1H}") Duration maxBackoff,
+                             @Value("${payment.webhook.max-attempts:10}") int maxAttempts,
+                             @Value("${payment.webhook.queue-capacity:100000}") long queueCapacity,
+                             @Value("${payment.webhook.dead-retention:P7D}") Duration deadRetention) {
+        this.deliveryRepository = deliveryRepository;
+        this.endpointRepository = endpointRepository;
+        this.urlValidator = urlValidator;
+        // Never follow redirects, so a response cannot point a delivery at another host
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(requestTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.wheel = new TimerWheel<>(tick, wheelSize);
+        this.tick = tick;
+        this.maxBatchSize = maxBatchSize;
+        this.maxConcurrencyPerEndpoint = maxConcurrencyPerEndpoint;
+        this.requestTimeout = requestTimeout;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxAttempts = maxAttempts;
+        this.queueCapacity = queueCapacity;
+        this.deadRetention = deadRetention;
+        Gauge.builder("payments.webhook.queued", queued, AtomicLong::get)
+                .description("Webhook deliveries waiting to be sent or retried")
+                .register(meterRegistry);
+        this.deliveredCounter = meterCounter(meterRegistry, "delivered", "Webhook events delivered");
+        this.retriedCounter = meterCounter(meterRegistry, "retried", "Webhook events scheduled for retry");
+        this.deadCounter = meterCounter(meterRegistry, "dead", "Webhook events that exhausted their retries");
+        this.droppedCounter = meterCounter(meterRegistry, "dropped", "Webhook events rejected because the queue was full");
+    }
+
+    /**
+     * Queues {@code payload} for each endpoint. Returns {@code false}, without queuing
+     * anything, if that would exceed {@code queue-capacity}.
+     */
+    public boolean enqueue(List<WebhookEndpoint> endpoints, String payload) {
+        int count = endpoints.size();
+        if (queued.addAndGet(count) > queueCapacity) {
+            queued.addAndGet(-count);
+            droppedCounter.increment(count);
+            log.warn("Webhook queue is full ({} deliveries), dropping event for {} endpoints", queueCapacity, count);
+            return false;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<WebhookDelivery> deliveries = endpoints.stream()
+                    .map(endpoint -> new WebhookDelivery(endpoint.getId(), payload, now))
+                    .toList();
+            int alreadyQueued = 0;
+            for (WebhookDelivery delivery : deliveryRepository.saveAll(deliveries)) {
+                if (!schedule(delivery.getId(), Duration.ZERO)) {
+                    alreadyQueued++;
+                }
+            }
+            queued.addAndGet(-alreadyQueued);
+            return true;
+        } catch (RuntimeException ex) {
+            queued.addAndGet(-count);
+            throw ex;
+        }
+    }
+
+    /**
+     * Drops all pending deliveries for an endpoint that has been unregistered.
+     */
+    public void cancel(Long endpointId) {
+        queued.addAndGet(-deliveryRepository.deleteByEndpointIdAndStatus(endpointId, WebhookDeliveryStatus.PENDING));
+    }
+
+    @Scheduled(initialDelayString = "${payment.webhook.purge-interval:PT1H}",
+            fixedDelayString = "${payment.webhook.purge-interval:PT1H}")
+    public void purgeDead() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(deadRetention);
+        int purged = deliveryRepository.deleteByStatusAndCreatedAtBefore(WebhookDeliveryStatus.DEAD, cutoff);
+        if (purged > 0) {
+            log.info("Purged {} dead webhook deliveries created before {}", purged, cutoff);
+        }
+    }
+
+    @Override
+    public void start() {
+        List<WebhookDelivery> pending = deliveryRepository.findByStatus(WebhookDeliveryStatus.PENDING);
+        LocalDateTime now = LocalDateTime.now();
+        int resumed = 0;
+        for (WebhookDelivery delivery : pending) {
+            if (schedule(delivery.getId(), delivery.getNextAttemptAt().isAfter(now)
+                    ? Duration.between(now, delivery.getNextAttemptAt())
+                    : Duration.ZERO)) {
+                resumed++;
+            }
+        }
+        queued.addAndGet(resumed);
+        if (resumed > 0) {
+            log.info("Resuming {} pending webhook deliveries", resumed);
+        }
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "webhook-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickMillis = Math.max(1, tick.toMillis());
+        executor.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        ticker = executor;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = ticker;
+        ticker = null;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ticker != null;
+    }
+
+    /**
+     * Spring Boot starts the embedded web server in phase {@code DEFAULT_PHASE - 2048};
+     * starting earlier means pending rows are loaded before requests can queue new
+     * ones, and stopping later lets in-flight requests still queue their events.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * Puts a delivery on the wheel unless it is already there. Returns {@code false}
+     * if it was.
+     */
+    private boolean schedule(Long id, Duration delay) {
+        if (!onWheel.add(id)) {
+            return false;
+        }
+        wheel.schedule(id, delay);
+        return true;
+    }
+
+    void tick() {
+        List<Long> due = wheel.advance();
+        if (due.isEmpty()) {
+            return;
+        }
+        due.forEach(onWheel::remove);
+        try {
+            dispatch(due);
+        } catch (RuntimeException ex) {
+            log.error("Failed to dispatch {} webhook deliveries, retrying in {}", due.size(), initialBackoff, ex);
+            due.forEach(id -> schedule(id, initialBackoff));
+        }
+    }
+
+    private void dispatch(List<Long> ids) {
+        Map<Long, List<WebhookDelivery>> byEndpoint = deliveryRepository.findAllById(ids).stream()
+                .filter(delivery -> delivery.getStatus() == WebhookDeliveryStatus.PENDING)
+                .sorted(Comparator.comparing(WebhookDelivery::getId))
+                .collect(Collectors.groupingBy(WebhookDelivery::getEndpointId));
+        Map<Long, WebhookEndpoint> endpoints = endpointRepository.findAllById(byEndpoint.keySet()).stream()
+                .collect(Collectors.toMap(WebhookEndpoint::getId, Function.identity()));
+
+        byEndpoint.forEach((endpointId, deliveries) -> {
+            WebhookEndpoint endpoint = endpoints.get(endpointId);
+            if (endpoint == null) {
+                // Unregistered after these were queued
+                cancel(endpointId);
+                return;
+            }
+            Semaphore permits = inFlight.computeIfAbsent(endpoint.getUrl(),
+                    key -> new Semaphore(maxConcurrencyPerEndpoint));
+            for (int from = 0; from < deliveries.size(); from += maxBatchSize) {
+                List<WebhookDelivery> batch = deliveries.subList(from, Math.min(from + maxBatchSize, deliveries.size()));
+                if (permits.tryAcquire()) {
+                    send(endpoint, batch, permits);
+                } else {
+                    batch.forEach(delivery -> schedule(delivery.getId(), tick));
+                }
+            }
+        });
+    }
+
+    private void send(WebhookEndpoint endpoint, List<WebhookDelivery> batch, Semaphore permits) {
+        String url = endpoint.getUrl();
+        String body = batch.stream()
+                .map(WebhookDelivery::getPayload)
+                .collect(Collectors.joining(",", "[", "]"));
+        long timestamp = Instant.now().getEpochSecond();
+        CompletableFuture<HttpResponse<Void>> response;
+        try {
+            URI uri = URI.create(url);
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .header(WebhookSignatures.TIMESTAMP_HEADER, Long.toString(timestamp))
+                    .header(WebhookSignatures.SIGNATURE_HEADER,
+                            WebhookSignatures.sign(endpoint.getSecret(), timestamp, body))
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            // Checked off the ticker thread; a rejected address fails the batch. The client then
+            // resolves the host again itself, so this does not stop DNS rebinding (see WebhookUrlValidator)
+            response = CompletableFuture.runAsync(() -> urlValidator.checkAddress(uri))
+                    .thenCompose(ignored -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        } catch (RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+
+        response.whenComplete((result, error) -> {
+            permits.release();
+            try {
+                if (error == null && result.statusCode() / 100 == 2) {
+                    onDelivered(batch);
+                } else {
+                    onFailed(url, batch, error != null ? error.toString() : "HTTP " + result.statusCode());
+                }
+            } catch (RuntimeException ex) {
+                log.error("Failed to record webhook delivery result for {}", url, ex);
+            }
+        });
+    }
+
+    private void onDelivered(List<WebhookDelivery> batch) {
+        deliveryRepository.deleteAllByIdInBatch(batch.stream().map(WebhookDelivery::getId).toList());
+        queued.addAndGet(-batch.size());
+        deliveredCounter.increment(batch.size());
+    }
+
+    private void onFailed(String url, List<WebhookDelivery> batch, String reason) {
+        LocalDateTime now = LocalDateTime.now();
+        // Deliveries coalesced into one batch can be on different attempts, so each backs off on its own count
+        for (WebhookDelivery delivery : batch) {
+            delivery.setAttempts(delivery.getAttempts() + 1);
+            if (delivery.getAttempts() >= maxAttempts) {
+                delivery.setStatus(WebhookDeliveryStatus.DEAD);
+            } else {
+                delivery.setNextAttemptAt(now.plus(backoff(delivery.getAttempts())));
+            }
+        }
+        deliveryRepository.saveAll(batch);
+
+        int dead = 0;
+        Duration nextRetry = null;
+        for (WebhookDelivery delivery : batch) {
+            if (delivery.getStatus() == WebhookDeliveryStatus.DEAD) {
+                dead++;
+            } else {
+                Duration delay = Duration.between(now, delivery.getNextAttemptAt());
+                schedule(delivery.getId(), delay);
+                if (nextRetry == null || delay.compareTo(nextRetry) < 0) {
+                    nextRetry = delay;
+                }
+            }
+        }
+        queued.addAndGet(-dead);
+        deadCounter.increment(dead);
+        retriedCounter.increment(batch.size() - dead);
+        log.warn("Webhook delivery to {} failed ({}): {} events to retry, first in {}, {} dead",
+                url, reason, batch.size() - dead, nextRetry, dead);
+    }
+
+    /**
+     * Exponential backoff from {@code initial-backoff}, capped at {@code max-backoff},
+     * with the upper half jittered so retries to one endpoint spread out.
+     */
+    Duration backoff(int attempts) {
+        long exponential = initialBackoff.toMillis() << Math.min(attempts - 1, 30);
+        long capped = Math.max(1, Math.min(exponential, maxBackoff.toMillis()));
+        return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1));
+    }
+
+    private static Counter meterCounter(MeterRegistry meterRegistry, String outcome, String description) {
+        return Counter.builder("payments.webhook.events")
+                .tag("outcome", outcome)
+                .description(description)
+                .register(meterRegistry);
+    }
+}
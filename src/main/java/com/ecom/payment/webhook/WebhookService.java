@@ -0,0 +1,94 @@
+package com.ecom.payment.webhook;
+
+import com.ecom.payment.dto.WebhookEndpointResponse;
+import com.ecom.payment.dto.WebhookRegistrationRequest;
+import com.ecom.payment.exception.WebhookEndpointNotFoundException;
+import com.ecom.payment.model.WebhookEndpoint;
+import com.ecom.payment.repository.WebhookEndpointRepository;
+import com.ecom.payment.service.PaymentStatusChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Manages merchant webhook registrations and turns payment status changes into
+ * queued deliveries. Each endpoint belongs to one user and only receives events for
+ * that user's payments.
+ */
+@Service
+public class WebhookService {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookService.class);
+
+    private final WebhookEndpointRepository endpointRepository;
+    private final WebhookDispatcher dispatcher;
+    private final WebhookUrlValidator urlValidator;
+    private final ObjectMapper objectMapper;
+
+    public WebhookService(WebhookEndpointRepository endpointRepository, WebhookDispatcher dispatcher,
+                          WebhookUrlValidator urlValidator, ObjectMapper objectMapper) {
+        this.endpointRepository = endpointRepository;
+        this.dispatcher = dispatcher;
+        this.urlValidator = urlValidator;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Registers {@code url} for the user. The signing secret is only included in the
+     * response when the endpoint is created; registering the same URL again returns
+     * the existing endpoint without it.
+     */
+    public WebhookEndpointResponse register(WebhookRegistrationRequest request) {
+        String url = urlValidator.validate(request.url());
+        Optional<WebhookEndpoint> existing = endpointRepository.findByUserIdAndUrl(request.userId(), url);
+        if (existing.isPresent()) {
+            return toWebhookEndpointResponse(existing.get(), null);
+        }
+        WebhookEndpoint endpoint = endpointRepository.save(new WebhookEndpoint(request.userId(), url,
+                WebhookSignatures.newSecret(), LocalDateTime.now()));
+        return toWebhookEndpointResponse(endpoint, endpoint.getSecret());
+    }
+
+    public List<WebhookEndpointResponse> getEndpointsByUserId(Long userId) {
+        return endpointRepository.findByUserId(userId).stream()
+                .map(endpoint -> toWebhookEndpointResponse(endpoint, null))
+                .collect(Collectors.toList());
+    }
+
+    public void unregister(Long userId, Long id) {
+        WebhookEndpoint endpoint = endpointRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new WebhookEndpointNotFoundException("Webhook endpoint not found with id: " + id));
+        endpointRepository.delete(endpoint);
+        dispatcher.cancel(id);
+    }
+
+    /**
+     * Endpoints are read per event rather than cached, so a registration or removal is
+     * seen by the next event. Failures are logged rather than thrown: the payment has
+     * already been saved and its caller must still get a response.
+     */
+    @EventListener
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        try {
+            List<WebhookEndpoint> targets = endpointRepository.findByUserId(event.userId());
+            if (!targets.isEmpty()) {
+                dispatcher.enqueue(targets, objectMapper.writeValueAsString(event));
+            }
+        } catch (JsonProcessingException | RuntimeException ex) {
+            log.error("Failed to queue webhook event for payment {}", event.paymentId(), ex);
+        }
+    }
+
+    private WebhookEndpointResponse toWebhookEndpointResponse(WebhookEndpoint endpoint, String secret) {
+        return new WebhookEndpointResponse(endpoint.getId(), endpoint.getUserId(), endpoint.getUrl(), secret,
+                endpoint.getCreatedAt());
+    }
+}
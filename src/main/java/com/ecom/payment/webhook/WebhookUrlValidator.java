@@ -0,0 +1,90 @@
+package com.ecom.payment.webhook;
+
+import com.ecom.payment.exception.InvalidWebhookUrlException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+
+/**
+ * Keeps webhook deliveries away from internal infrastructure: a URL must be absolute
+ * http or https, and every address its host resolves to must be publicly routable
+ * (no loopback, private, link-local, carrier-grade NAT, unique-local or multicast
+ * ranges). The check runs on registration and again before every request, since DNS
+ * answers can change after registration, and the dispatcher never follows redirects.
+ * <p>
+ * The checked address is not pinned: {@link java.net.http.HttpClient} resolves the host
+ * again when it connects, so a DNS answer that changes between the check and the
+ * connection (DNS rebinding) is not caught. Where that matters, route webhook traffic
+ * through an egress proxy that enforces the same address rules on the connection it opens.
+ * <p>
+ * {@code payment.webhook.allow-private-addresses} lifts the address check for local
+ * development and tests.
+ */
+@Component
+public class WebhookUrlValidator {
+
+    private final boolean allowPrivateAddresses;
+
+    public WebhookUrlValidator(@Value("${payment.webhook.allow-private-addresses:false}") boolean allowPrivateAddresses) {
+        this.allowPrivateAddresses = allowPrivateAddresses;
+    }
+
+    /**
+     * Returns the normalized form of {@code url}, or throws
+     * {@link InvalidWebhookUrlException} if it may not be used as a webhook.
+     */
+    public String validate(String url) {
+        URI uri;
+        try {
+            uri = new URI(url.trim());
+        } catch (URISyntaxException ex) {
+            throw new InvalidWebhookUrlException("Invalid webhook URL: " + url);
+        }
+        if (!("http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme()))
+                || uri.getHost() == null) {
+            throw new InvalidWebhookUrlException("Webhook URL must be an absolute http or https URL: " + url);
+        }
+        checkAddress(uri);
+        return uri.toString();
+    }
+
+    /**
+     * Resolves the host of {@code uri} and rejects it if any address is not public.
+     */
+    public void checkAddress(URI uri) {
+        if (allowPrivateAddresses) {
+            return;
+        }
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(uri.getHost());
+        } catch (UnknownHostException ex) {
+            throw new InvalidWebhookUrlException("Webhook host could not be resolved: " + uri.getHost());
+        }
+        for (InetAddress address : addresses) {
+            if (!isPublic(address)) {
+                throw new InvalidWebhookUrlException("Webhook host must not resolve to a private address: " + uri.getHost());
+            }
+        }
+    }
+
+    static boolean isPublic(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return false;
+        }
+        byte[] bytes = address.getAddress();
+        if (bytes.length == 4) {
+            int first = bytes[0] & 0xFF;
+            int second = bytes[1] & 0xFF;
+            // 0.0.0.0/8 "this network", 100.64.0.0/10 carrier-grade NAT
+            return first != 0 && !(first == 100 && (second & 0xC0) == 64);
+        }
+        // fc00::/7 unique local addresses
+        return (bytes[0] & 0xFE) != 0xFC;
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecom.payment.archive;
+
+import com.ecom.payment.exception.ArchiveException;
+import com.ecom.payment.model.Money;
+import com.ecom.payment.model.Payment;
+import com.ecom.payment.model.PaymentStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DisabledPaymentArchiveTest {
+
+    private final DisabledPaymentArchive archive = new DisabledPaymentArchive();
+
+    @Test
+    void lookups_ShouldReturnNothing() {
+        assertTrue(archive.findById(1L).isEmpty());
+        assertTrue(archive.findByOrderId(1L).isEmpty());
+        assertTrue(archive.findByUserId(1L).isEmpty());
+    }
+
+    @Test
+    void append_ShouldRefuse_SoHotRowsAreNeverDeleted() {
+        Payment payment = new Payment(1L, 1L, new Money(100, "USD"), "MOCK_CARD",
+                PaymentStatus.SUCCESS, "txn-1", LocalDateTime.now());
+
+        assertThrows(ArchiveException.class, () -> archive.append(List.of(payment)));
+    }
+}
@@ -0,0 +1,120 @@
+package com.ecom.payment.archive;
+
+import com.ecom.payment.model.Money;
+import com.ecom.payment.model.Payment;
+import com.ecom.payment.model.PaymentStatus;
+import com.ecom.payment.repository.PaymentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentArchiverTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentArchive paymentArchive;
+
+    @Test
+    void archive_ShouldWriteSegmentBeforeDeletingRows() {
+        PaymentArchiver archiver = new PaymentArchiver(paymentRepository, paymentArchive,
+                Duration.ofDays(30), Duration.ofDays(90), 2, 10);
+        List<Payment> batch = List.of(payment(1L, PaymentStatus.SUCCESS), payment(2L, PaymentStatus.SUCCESS));
+        when(paymentRepository.findArchivable(any(LocalDateTime.class), any(LocalDateTime.class), any()))
+                .thenReturn(batch, List.of(payment(3L, PaymentStatus.FAILED)));
+        when(paymentRepository.deleteByIdInAndStatus(List.of(1L, 2L), PaymentStatus.SUCCESS)).thenReturn(2);
+        when(paymentRepository.deleteByIdInAndStatus(List.of(3L), PaymentStatus.FAILED)).thenReturn(1);
+
+        int archived = archiver.archiveOnce();
+
+        assertEquals(3, archived);
+        InOrder inOrder = inOrder(paymentArchive, paymentRepository);
+        inOrder.verify(paymentArchive).append(batch);
+        inOrder.verify(paymentRepository).deleteByIdInAndStatus(List.of(1L, 2L), PaymentStatus.SUCCESS);
+        inOrder.verify(paymentRepository).deleteByIdInAndStatus(List.of(3L), PaymentStatus.FAILED);
+    }
+
+    @Test
+    void archive_ShouldKeepRows_WhenStatusChangedBeforeDelete() {
+        PaymentArchiver archiver = new PaymentArchiver(paymentRepository, paymentArchive,
+                Duration.ofDays(30), Duration.ofDays(90), 10, 10);
+        List<Payment> batch = List.of(payment(1L, PaymentStatus.SUCCESS), payment(2L, PaymentStatus.FAILED));
+        when(paymentRepository.findArchivable(any(LocalDateTime.class), any(LocalDateTime.class), any()))
+                .thenReturn(batch);
+        // payment 1 was refunded after it was read, so its SUCCESS row no longer matches
+        when(paymentRepository.deleteByIdInAndStatus(List.of(1L), PaymentStatus.SUCCESS)).thenReturn(0);
+        when(paymentRepository.deleteByIdInAndStatus(List.of(2L), PaymentStatus.FAILED)).thenReturn(1);
+
+        int archived = archiver.archiveOnce();
+
+        assertEquals(1, archived);
+        verify(paymentRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void archive_ShouldDoNothing_WhenNothingToArchive() {
+        PaymentArchiver archiver = new PaymentArchiver(paymentRepository, paymentArchive,
+                Duration.ofDays(30), Duration.ofDays(90), 2, 10);
+        when(paymentRepository.findArchivable(any(LocalDateTime.class), any(LocalDateTime.class), any()))
+                .thenReturn(List.of());
+
+        assertEquals(0, archiver.archiveOnce());
+        verifyNoInteractions(paymentArchive);
+        verify(paymentRepository, never()).deleteByIdInAndStatus(any(), any());
+    }
+
+    @Test
+    void archive_ShouldHoldSuccessfulPaymentsUntilRefundWindowEnds() {
+        PaymentArchiver archiver = new PaymentArchiver(paymentRepository, paymentArchive,
+                Duration.ofDays(30), Duration.ofDays(90), 10, 10);
+        when(paymentRepository.findArchivable(any(LocalDateTime.class), any(LocalDateTime.class), any()))
+                .thenReturn(List.of());
+
+        LocalDateTime before = LocalDateTime.now();
+        archiver.archiveOnce();
+        LocalDateTime after = LocalDateTime.now();
+
+        ArgumentCaptor<LocalDateTime> settledCutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> refundableCutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(paymentRepository).findArchivable(settledCutoff.capture(), refundableCutoff.capture(), any());
+        assertFalse(settledCutoff.getValue().isBefore(before.minusDays(30)));
+        assertFalse(settledCutoff.getValue().isAfter(after.minusDays(30)));
+        assertFalse(refundableCutoff.getValue().isBefore(before.minusDays(90)));
+        assertFalse(refundableCutoff.getValue().isAfter(after.minusDays(90)));
+    }
+
+    @Test
+    void archive_ShouldUseRetentionForSuccessfulPayments_WhenLongerThanRefundWindow() {
+        PaymentArchiver archiver = new PaymentArchiver(paymentRepository, paymentArchive,
+                Duration.ofDays(30), Duration.ofDays(7), 10, 10);
+        when(paymentRepository.findArchivable(any(LocalDateTime.class), any(LocalDateTime.class), any()))
+                .thenReturn(List.of());
+
+        archiver.archiveOnce();
+
+        ArgumentCaptor<LocalDateTime> settledCutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> refundableCutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(paymentRepository).findArchivable(settledCutoff.capture(), refundableCutoff.capture(), any());
+        assertEquals(settledCutoff.getValue(), refundableCutoff.getValue());
+    }
+
+    private static Payment payment(Long id, PaymentStatus status) {
+        Payment payment = new Payment(id, 1L, new Money(100, "USD"), "MOCK_CARD",
+                status, "txn-" + id, LocalDateTime.now().minusDays(60));
+        payment.setId(id);
+        return payment;
+    }
+}
@@ -0,0 +1,153 @@
+package com.ecom.payment.archive;
+
+import com.ecom.payment.exception.ArchiveException;
+import com.ecom.payment.model.Money;
+import com.ecom.payment.model.Payment;
+import com.ecom.payment.model.PaymentStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentPaymentArchiveTest {
+
+    private static final String DATASOURCE_URL = "jdbc:h2:file:./data/paymentdb";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void findById_ShouldReturnArchivedPaymentWithAllFields() {
+        SegmentPaymentArchive archive = new SegmentPaymentArchive(directory, DATASOURCE_URL);
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 15, 10, 30, 45, 123_456_789);
+        archive.append(List.of(payment(7L, 70L, 700L, PaymentStatus.REFUNDED, createdAt)));
+
+        Payment found = archive.findById(7L).orElseThrow();
+
+        assertEquals(7L, found.getId());
+        assertEquals(70L, found.getOrderId());
+        assertEquals(700L, found.getUserId());
+        assertEquals(new Money(1234, "EUR"), found.getAmount());
+        assertEquals("MOCK_CARD", found.getPaymentMethod());
+        assertEquals(PaymentStatus.REFUNDED, found.getStatus());
+        assertEquals("txn-7", found.getTransactionId());
+        assertEquals(createdAt, found.getCreatedAt());
+    }
+
+    @Test
+    void lookups_ShouldUseOrderAndUserIndexes() {
+        SegmentPaymentArchive archive = new SegmentPaymentArchive(directory, DATASOURCE_URL);
+        archive.append(List.of(
+                payment(3L, 30L, 500L, PaymentStatus.SUCCESS, LocalDateTime.now()),
+                payment(1L, 10L, 501L, PaymentStatus.FAILED, LocalDateTime.now()),
+                payment(2L, 20L, 500L, PaymentStatus.SUCCESS, LocalDateTime.now())));
+
+        assertEquals(2L, archive.findByOrderId(20L).orElseThrow().getId());
+        assertEquals(List.of(2L, 3L), archive.findByUserId(500L).stream().map(Payment::getId).toList());
+        assertTrue(archive.findById(4L).isEmpty());
+        assertTrue(archive.findByOrderId(40L).isEmpty());
+        assertTrue(archive.findByUserId(502L).isEmpty());
+    }
+
+    @Test
+    void lookups_ShouldReadRowsAcrossBlocks() {
+        SegmentPaymentArchive archive = new SegmentPaymentArchive(directory, DATASOURCE_URL);
+        int rows = PaymentSegment.BLOCK_ROWS * 3 + 17;
+        List<Payment> payments = new ArrayList<>();
+        for (long id = rows; id >= 1; id--) {
+            payments.add(payment(id, id * 10, id % 7, PaymentStatus.SUCCESS, LocalDateTime.now()));
+        }
+        archive.append(payments);
+
+        for (long id : new long[]{1, PaymentSegment.BLOCK_ROWS, PaymentSegment.BLOCK_ROWS + 1, rows}) {
+            Payment found = archive.findById(id).orElseThrow();
+            assertEquals(id * 10, found.getOrderId());
+            assertEquals("txn-" + id, found.getTransactionId());
+        }
+        assertEquals(PaymentSegment.BLOCK_ROWS * 2, archive.findByOrderId(PaymentSegment.BLOCK_ROWS * 20L)
+                .orElseThrow().getId());
+        List<Long> userIds = archive.findByUserId(3L).stream().map(Payment::getId).toList();
+        assertEquals(LongStream.rangeClosed(1, rows).filter(id -> id % 7 == 3).boxed().toList(), userIds);
+        assertTrue(archive.findById(0L).isEmpty());
+        assertTrue(archive.findById(rows + 1L).isEmpty());
+    }
+
+    @Test
+    void constructor_ShouldRejectTruncatedSegment() throws IOException {
+        SegmentPaymentArchive writer = new SegmentPaymentArchive(directory, DATASOURCE_URL);
+        writer.append(List.of(payment(1L, 10L, 100L, PaymentStatus.SUCCESS, LocalDateTime.now())));
+        try (Stream<Path> files = Files.list(directory)) {
+            Path segment = files.findFirst().orElseThrow();
+            byte[] bytes = Files.readAllBytes(segment);
+            Files.write(segment, Arrays.copyOf(bytes, bytes.length - 1));
+        }
+
+        assertThrows(ArchiveException.class, () -> new SegmentPaymentArchive(directory, DATASOURCE_URL));
+    }
+
+    @Test
+    void constructor_ShouldReloadExistingSegments() {
+        SegmentPaymentArchive writer = new SegmentPaymentArchive(directory, DATASOURCE_URL);
+        writer.append(List.of(payment(1L, 10L, 100L, PaymentStatus.SUCCESS, LocalDateTime.now())));
+        writer.append(List.of(payment(2L, 20L, 100L, PaymentStatus.FAILED, LocalDateTime.now())));
+
+        SegmentPaymentArchive reader = new SegmentPaymentArchive(directory, DATASOURCE_URL);
+
+        assertEquals(2, reader.segmentCount());
+        assertEquals(2, reader.findByUserId(100L).size());
+        assertTrue(reader.findById(1L).isPresent());
+    }
+
+    @Test
+    void constructor_ShouldDiscardIncompleteSegments() throws IOException {
+        SegmentPaymentArchive writer = new SegmentPaymentArchive(directory, DATASOURCE_URL);
+        writer.append(List.of(payment(1L, 10L, 100L, PaymentStatus.SUCCESS, LocalDateTime.now())));
+        Path incomplete = Files.writeString(directory.resolve("payments-crashed.tmp"), "partial");
+
+        SegmentPaymentArchive reader = new SegmentPaymentArchive(directory, DATASOURCE_URL);
+
+        assertEquals(1, reader.segmentCount());
+        assertFalse(Files.exists(incomplete));
+    }
+
+    @Test
+    void findByUserId_ShouldNotDuplicatePaymentsArchivedTwice() {
+        SegmentPaymentArchive archive = new SegmentPaymentArchive(directory, DATASOURCE_URL);
+        Payment payment = payment(1L, 10L, 100L, PaymentStatus.SUCCESS, LocalDateTime.now());
+        archive.append(List.of(payment));
+        archive.append(List.of(payment));
+
+        assertEquals(1, archive.findByUserId(100L).size());
+    }
+
+    @Test
+    void findById_ShouldReturnEmpty_WhenArchiveDirectoryMissing() {
+        SegmentPaymentArchive archive = new SegmentPaymentArchive(directory.resolve("missing"), DATASOURCE_URL);
+
+        assertEquals(Optional.empty(), archive.findById(1L));
+    }
+
+    @Test
+    void constructor_ShouldRefuseInMemoryDatasource() {
+        assertThrows(IllegalStateException.class, () -> new SegmentPaymentArchive(directory, "jdbc:h2:mem:paymentdb"));
+        assertThrows(IllegalStateException.class, () -> new SegmentPaymentArchive(directory, ""));
+    }
+
+    private static Payment payment(Long id, Long orderId, Long userId, PaymentStatus status, LocalDateTime createdAt) {
+        Payment payment = new Payment(orderId, userId, new Money(1234, "EUR"), "MOCK_CARD",
+                status, "txn-" + id, createdAt);
+        payment.setId(id);
+        return payment;
+    }
+}
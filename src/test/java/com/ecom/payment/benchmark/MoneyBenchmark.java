@@ -0,0 +1,102 @@
+package com.ecom.payment.benchmark;
+
+import com.ecom.payment.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the operations a payment amount goes through, as {@link BigDecimal}
+ * versus {@link Money}: converting the request amount, summing, and formatting for the
+ * response. Each invocation processes {@code size} amounts. Run through
+ * {@link MoneyBenchmarkTest}, which adds the GC profiler so allocation per operation
+ * ({@code gc.alloc.rate.norm}) is reported next to throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final String CURRENCY = "USD";
+
+    @Param("1000")
+    private int size;
+
+    private BigDecimal[] decimals;
+    private Money[] amounts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        decimals = new BigDecimal[size];
+        amounts = new Money[size];
+        for (int i = 0; i < size; i++) {
+            long cents = 1 + random.nextInt(999_999);
+            decimals[i] = BigDecimal.valueOf(cents, 2);
+            amounts[i] = new Money(cents, CURRENCY);
+        }
+    }
+
+    @Benchmark
+    public void convertBigDecimal(Blackhole blackhole) {
+        for (BigDecimal decimal : decimals) {
+            blackhole.consume(decimal.setScale(2, RoundingMode.UNNECESSARY));
+        }
+    }
+
+    @Benchmark
+    public void convertMoney(Blackhole blackhole) {
+        for (BigDecimal decimal : decimals) {
+            blackhole.consume(Money.of(decimal, CURRENCY));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal sumBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal decimal : decimals) {
+            total = total.add(decimal);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money sumMoney() {
+        Money total = new Money(0, CURRENCY);
+        for (Money amount : amounts) {
+            total = total.plus(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public void formatBigDecimal(Blackhole blackhole) {
+        for (BigDecimal decimal : decimals) {
+            blackhole.consume(decimal.toPlainString());
+        }
+    }
+
+    @Benchmark
+    public void formatMoney(Blackhole blackhole) {
+        for (Money amount : amounts) {
+            blackhole.consume(amount.toPlainString());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecom.payment.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs {@link MoneyBenchmark} under JMH with the GC profiler. Excluded from the default
+ * build; run with {@code mvn test -Pbenchmark -Dtest=MoneyBenchmarkTest}.
+ */
+@Tag("benchmark")
+class MoneyBenchmarkTest {
+
+    @Test
+    void bigDecimalVersusMoney() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(MoneyBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertFalse(results.isEmpty());
+    }
+}
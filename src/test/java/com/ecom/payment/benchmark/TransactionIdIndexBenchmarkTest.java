@@ -0,0 +1,126 @@
+package com.ecom.payment.benchmark;
+
+import com.ecom.payment.model.BinaryTransactionIdConverter;
+import com.ecom.payment.service.TimeOrderedTransactionIdGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Insert throughput and index size of the {@code transaction_id} unique index for random
+ * (UUIDv4) versus time-ordered (UUIDv7) keys, stored as strings or as 16-byte binary.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ * <p>
+ * Each variant gets its own file-backed H2 database under {@code target/benchmark}. Index
+ * size is the compacted file size minus that of the same table without the index, so the
+ * figure includes the half-empty pages left behind by random inserts. Settings:
+ * {@code benchmark.rows} (default 10,000,000) and {@code benchmark.batch-size} (default 10,000).
+ */
+@Tag("benchmark")
+class TransactionIdIndexBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionIdIndexBenchmarkTest.class);
+
+    private static final Path DIRECTORY = Path.of("target", "benchmark");
+
+    private final int rows = Integer.parseInt(System.getProperty("benchmark.rows", "10000000"));
+    private final int batchSize = Integer.parseInt(System.getProperty("benchmark.batch-size", "10000"));
+    private final BinaryTransactionIdConverter converter = new BinaryTransactionIdConverter();
+
+    @Test
+    void insertThroughputAndIndexSize() throws Exception {
+        TimeOrderedTransactionIdGenerator generator = new TimeOrderedTransactionIdGenerator(0);
+        Supplier<String> random = () -> UUID.randomUUID().toString();
+        Supplier<String> timeOrdered = generator::nextId;
+
+        Result stringBaseline = run("string-baseline", "VARCHAR(255)", false, timeOrdered, false);
+        Result binaryBaseline = run("binary-baseline", "VARBINARY(16)", true, timeOrdered, false);
+
+        StringBuilder report = new StringBuilder(String.format("%n%-14s %12s %14s %14s%n",
+                "variant", "rows/s", "last 10% /s", "index MiB"));
+        report.append(line(run("v4-string", "VARCHAR(255)", false, random, true), stringBaseline));
+        report.append(line(run("v7-string", "VARCHAR(255)", false, timeOrdered, true), stringBaseline));
+        report.append(line(run("v4-binary", "VARBINARY(16)", true, random, true), binaryBaseline));
+        report.append(line(run("v7-binary", "VARBINARY(16)", true, timeOrdered, true), binaryBaseline));
+        log.info("Transaction id index benchmark, {} rows:{}", rows, report);
+    }
+
+    private Result run(String name, String columnType, boolean binary, Supplier<String> ids, boolean indexed)
+            throws SQLException, IOException {
+        Files.createDirectories(DIRECTORY);
+        Path database = DIRECTORY.resolve(name);
+        Files.deleteIfExists(Path.of(database + ".mv.db"));
+        String url = "jdbc:h2:file:" + database.toAbsolutePath();
+
+        long elapsed;
+        long tailElapsed;
+        int tailStart = rows - rows / 10;
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE payments (id BIGINT AUTO_INCREMENT PRIMARY KEY, transaction_id "
+                        + columnType + " NOT NULL" + (indexed ? " UNIQUE" : "") + ")");
+            }
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+            long tailStartedAt = start;
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO payments (transaction_id) VALUES (?)")) {
+                for (int i = 0; i < rows; i++) {
+                    if (i == tailStart) {
+                        tailStartedAt = System.nanoTime();
+                    }
+                    String id = ids.get();
+                    if (binary) {
+                        insert.setBytes(1, converter.convertToDatabaseColumn(id));
+                    } else {
+                        insert.setString(1, id);
+                    }
+                    insert.addBatch();
+                    if ((i + 1) % batchSize == 0 || i == rows - 1) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+            }
+            long end = System.nanoTime();
+            elapsed = end - start;
+            tailElapsed = end - tailStartedAt;
+
+            try (Statement statement = connection.createStatement()) {
+                ResultSet count = statement.executeQuery("SELECT COUNT(*) FROM payments");
+                count.next();
+                assertEquals(rows, count.getLong(1));
+                statement.execute("SHUTDOWN COMPACT");
+            }
+        }
+        long bytes = Files.size(Path.of(database + ".mv.db"));
+        return new Result(name, rows / seconds(elapsed), (rows - tailStart) / seconds(tailElapsed), bytes);
+    }
+
+    private static double seconds(long nanos) {
+        return Math.max(nanos, 1) / 1_000_000_000.0;
+    }
+
+    private static String line(Result result, Result baseline) {
+        return String.format("%-14s %,12.0f %,14.0f %,14.1f%n", result.name(), result.rowsPerSecond(),
+                result.tailRowsPerSecond(), (result.fileBytes() - baseline.fileBytes()) / (1024.0 * 1024.0));
+    }
+
+    private record Result(String name, double rowsPerSecond, double tailRowsPerSecond, long fileBytes) {
+    }
+}
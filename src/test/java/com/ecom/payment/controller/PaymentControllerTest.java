@@ -3,7 +3,9 @@ package com.ecom.payment.controller;
 import com.ecom.payment.dto.PaymentRequest;
 import com.ecom.payment.dto.PaymentResponse;
 import com.ecom.payment.dto.RefundRequest;
+import com.ecom.payment.exception.InvalidAmountException;
 import com.ecom.payment.exception.PaymentNotFoundException;
+import com.ecom.payment.model.Money;
 import com.ecom.payment.model.PaymentStatus;
 import com.ecom.payment.service.PaymentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -44,7 +46,7 @@ class PaymentControllerTest {
 
     @BeforeEach
     void setUp() {
-        paymentResponse = new PaymentResponse(1L, 1L, 1L, new BigDecimal("59.98"),
+        paymentResponse = new PaymentResponse(1L, 1L, 1L, new Money(5998, "USD"),
                 PaymentStatus.SUCCESS, "txn-123", "Payment processed successfully", LocalDateTime.now());
     }
 
@@ -52,12 +54,14 @@ class PaymentControllerTest {
     void processPayment_ShouldReturn201() throws Exception {
         when(paymentService.processPayment(any(PaymentRequest.class))).thenReturn(paymentResponse);
 
-        PaymentRequest request = new PaymentRequest(1L, 1L, new BigDecimal("59.98"), "MOCK_CARD");
+        PaymentRequest request = new PaymentRequest(1L, 1L, new BigDecimal("59.98"), "MOCK_CARD", null);
         mockMvc.perform(post("/api/payments/process")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.amount").value(59.98))
+                .andExpect(jsonPath("$.currency").value("USD"))
                 .andExpect(jsonPath("$.status").value("SUCCESS"))
                 .andExpect(jsonPath("$.transactionId").value("txn-123"));
     }
@@ -72,6 +76,31 @@ class PaymentControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void processPayment_ShouldReturn400_WhenAmountNotRepresentable() throws Exception {
+        when(paymentService.processPayment(any(PaymentRequest.class)))
+                .thenThrow(new InvalidAmountException("Amount 59.985 cannot be represented exactly in USD",
+                        new ArithmeticException("Rounding necessary")));
+
+        String request = "{\"orderId\": 1, \"userId\": 1, \"amount\": 59.985}";
+        mockMvc.perform(post("/api/payments/process")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void processPayment_ShouldReturn500_WhenUnexpectedIllegalArgument() throws Exception {
+        when(paymentService.processPayment(any(PaymentRequest.class)))
+                .thenThrow(new IllegalArgumentException("Node id must be between 0 and 65535"));
+
+        String request = "{\"orderId\": 1, \"userId\": 1, \"amount\": 59.98}";
+        mockMvc.perform(post("/api/payments/process")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isInternalServerError());
+    }
+
     @Test
     void getPaymentById_ShouldReturnPayment() throws Exception {
         when(paymentService.getPaymentById(1L)).thenReturn(paymentResponse);
@@ -120,7 +149,7 @@ class PaymentControllerTest {
 
     @Test
     void refundPayment_ShouldReturnRefundedPayment() throws Exception {
-        PaymentResponse refundResponse = new PaymentResponse(1L, 1L, 1L, new BigDecimal("59.98"),
+        PaymentResponse refundResponse = new PaymentResponse(1L, 1L, 1L, new Money(5998, "USD"),
                 PaymentStatus.REFUNDED, "txn-123", "Payment refunded successfully", LocalDateTime.now());
         when(paymentService.refundPayment(eq(1L), any(RefundRequest.class))).thenReturn(refundResponse);
 
@@ -0,0 +1,113 @@
+package com.ecom.payment.controller;
+
+import com.ecom.payment.dto.WebhookEndpointResponse;
+import com.ecom.payment.dto.WebhookRegistrationRequest;
+import com.ecom.payment.exception.InvalidWebhookUrlException;
+import com.ecom.payment.exception.WebhookEndpointNotFoundException;
+import com.ecom.payment.webhook.WebhookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(WebhookController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class WebhookControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private WebhookService webhookService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void register_ShouldReturn201() throws Exception {
+        when(webhookService.register(any(WebhookRegistrationRequest.class)))
+                .thenReturn(new WebhookEndpointResponse(1L, 7L, "https://merchant.example/hooks", "s3cret",
+                        LocalDateTime.now()));
+
+        WebhookRegistrationRequest request = new WebhookRegistrationRequest(7L, "https://merchant.example/hooks");
+        mockMvc.perform(post("/api/webhooks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.userId").value(7))
+                .andExpect(jsonPath("$.url").value("https://merchant.example/hooks"))
+                .andExpect(jsonPath("$.secret").value("s3cret"));
+    }
+
+    @Test
+    void register_ShouldReturn400_WhenUrlMissing() throws Exception {
+        mockMvc.perform(post("/api/webhooks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": 7}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void register_ShouldReturn400_WhenUserIdMissing() throws Exception {
+        mockMvc.perform(post("/api/webhooks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"url\": \"https://merchant.example/hooks\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void register_ShouldReturn400_WhenUrlInvalid() throws Exception {
+        when(webhookService.register(any(WebhookRegistrationRequest.class)))
+                .thenThrow(new InvalidWebhookUrlException("Webhook URL must be an absolute http or https URL"));
+
+        mockMvc.perform(post("/api/webhooks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": 7, \"url\": \"ftp://merchant.example\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getEndpointsByUserId_ShouldReturnEndpoints() throws Exception {
+        when(webhookService.getEndpointsByUserId(7L))
+                .thenReturn(List.of(new WebhookEndpointResponse(1L, 7L, "https://merchant.example/hooks", null,
+                        LocalDateTime.now())));
+
+        mockMvc.perform(get("/api/webhooks/user/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].secret").doesNotExist());
+    }
+
+    @Test
+    void unregister_ShouldReturn204() throws Exception {
+        mockMvc.perform(delete("/api/webhooks/user/7/1"))
+                .andExpect(status().isNoContent());
+        verify(webhookService).unregister(7L, 1L);
+    }
+
+    @Test
+    void unregister_ShouldReturn404_WhenNotFound() throws Exception {
+        doThrow(new WebhookEndpointNotFoundException("Webhook endpoint not found"))
+                .when(webhookService).unregister(7L, 99L);
+
+        mockMvc.perform(delete("/api/webhooks/user/7/99"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,210 @@
+package com.ecom.payment.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Open-model load generator: requests are issued on a fixed schedule of
+ * {@code 1 / rate} regardless of how quickly earlier ones complete.
+ * <p>
+ * Latency is measured from each request's <em>intended</em> start time, not from when
+ * it was actually sent, so a stall in the server (or in this generator) shows up in the
+ * histograms as the queueing delay real clients would see instead of being hidden by
+ * coordinated omission. Requests issued during the warmup period are not recorded.
+ * Requests dropped by the {@code maxInFlight} cap never reached the server, so they
+ * count as errors but add no latency sample.
+ */
+class LoadGenerator {
+
+    private static final int RECENT_PAYMENTS = 4096;
+
+    private final URI baseUri;
+    private final LoadProfile profile;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final LoadOperation[] weightedOperations;
+
+    private final Map<LoadOperation, Histogram> histograms = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, AtomicLong> errors = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, AtomicLong> rejected = new EnumMap<>(LoadOperation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong nextOrderId = new AtomicLong(1_000_000_000L + System.currentTimeMillis() % 1_000_000_000L);
+
+    private final Queue<Long> refundable = new ConcurrentLinkedQueue<>();
+    private final AtomicLongArray recentPaymentIds = new AtomicLongArray(RECENT_PAYMENTS);
+    private final AtomicLongArray recentOrderIds = new AtomicLongArray(RECENT_PAYMENTS);
+    private final AtomicLong recentCount = new AtomicLong();
+
+    LoadGenerator(URI baseUri, LoadProfile profile, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.profile = profile;
+        this.objectMapper = objectMapper;
+        this.weightedOperations = profile.mix().entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(LoadOperation[]::new);
+        if (weightedOperations.length == 0) {
+            throw new IllegalArgumentException("load.mix must give at least one operation a positive weight");
+        }
+        for (LoadOperation operation : LoadOperation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new AtomicLong());
+            rejected.put(operation, new AtomicLong());
+        }
+    }
+
+    /**
+     * Creates {@code payments} payments synchronously so that lookups and refunds have
+     * targets from the first measured request on.
+     */
+    void seed(int payments) throws Exception {
+        for (int i = 0; i < payments; i++) {
+            HttpResponse<String> response = httpClient.send(buildRequest(LoadOperation.PROCESS, null),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode() + ": " + response.body());
+            }
+            rememberPayment(response.body());
+        }
+    }
+
+    LoadReport run() throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / profile.ratePerSecond());
+        long warmupNanos = profile.warmup().toNanos();
+        long totalNanos = warmupNanos + profile.duration().toNanos();
+
+        LoadReport.JvmSnapshot before = null;
+        long start = System.nanoTime();
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended - start >= totalNanos) {
+                break;
+            }
+            boolean measured = intended - start >= warmupNanos;
+            if (measured && before == null) {
+                before = LoadReport.JvmSnapshot.start();
+            }
+            for (long now = System.nanoTime(); now < intended; now = System.nanoTime()) {
+                LockSupport.parkNanos(intended - now);
+            }
+            issue(pickOperation(), intended, measured);
+        }
+        // The measured window is the issue schedule; draining stragglers must not dilute throughput
+        long measuredNanos = System.nanoTime() - start - warmupNanos;
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        LoadReport.JvmSnapshot after = LoadReport.JvmSnapshot.take();
+        return new LoadReport(profile, histograms, errors, rejected, inFlight.get(), measuredNanos,
+                before != null ? before : after, after);
+    }
+
+    private LoadOperation pickOperation() {
+        LoadOperation operation = weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+        if (operation == LoadOperation.REFUND && refundable.isEmpty()) {
+            return LoadOperation.GET_BY_ID;
+        }
+        return operation;
+    }
+
+    private void issue(LoadOperation operation, long intendedNanos, boolean measured) {
+        if (inFlight.incrementAndGet() > profile.maxInFlight()) {
+            inFlight.decrementAndGet();
+            if (measured) {
+                errors.get(operation).incrementAndGet();
+                rejected.get(operation).incrementAndGet();
+            }
+            return;
+        }
+
+        Long refundId = operation == LoadOperation.REFUND ? refundable.poll() : null;
+        HttpRequest request = buildRequest(operation, refundId);
+        int expectedStatus = operation == LoadOperation.PROCESS ? 201 : 200;
+
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - intendedNanos;
+                    boolean ok = error == null && response.statusCode() == expectedStatus;
+                    if (measured) {
+                        histograms.get(operation).recordValue(latency);
+                        if (!ok) {
+                            errors.get(operation).incrementAndGet();
+                        }
+                    }
+                    if (ok && operation == LoadOperation.PROCESS) {
+                        rememberPayment(response.body());
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private HttpRequest buildRequest(LoadOperation operation, Long refundId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case PROCESS -> post("/api/payments/process", String.format(
+                    "{\"orderId\":%d,\"userId\":%d,\"amount\":%d.%02d,\"paymentMethod\":\"MOCK_CARD\"}",
+                    nextOrderId.getAndIncrement(), 1 + random.nextInt(profile.userCount()),
+                    1 + random.nextInt(500), random.nextInt(100)));
+            case REFUND -> post("/api/payments/refund", String.format(
+                    "{\"paymentId\":%d,\"reason\":\"load test\"}", refundId));
+            case GET_BY_ID -> get("/api/payments/" + recent(recentPaymentIds, random));
+            case GET_BY_ORDER -> get("/api/payments/order/" + recent(recentOrderIds, random));
+            case GET_BY_USER -> get("/api/payments/user/" + (1 + random.nextInt(profile.userCount())));
+        };
+    }
+
+    private void rememberPayment(String body) {
+        try {
+            JsonNode payment = objectMapper.readTree(body);
+            long id = payment.get("id").asLong();
+            int slot = (int) (recentCount.getAndIncrement() % RECENT_PAYMENTS);
+            recentPaymentIds.set(slot, id);
+            recentOrderIds.set(slot, payment.get("orderId").asLong());
+            if ("SUCCESS".equals(payment.get("status").asText())) {
+                refundable.add(id);
+            }
+        } catch (Exception ex) {
+            throw new IllegalStateException("Unexpected /process response: " + body, ex);
+        }
+    }
+
+    /**
+     * Picks a recently created payment. A slot claimed by a response that is still being
+     * recorded reads as 0, in which case the first (seeded) slot is used instead.
+     */
+    private long recent(AtomicLongArray values, ThreadLocalRandom random) {
+        long value = values.get(random.nextInt((int) Math.min(recentCount.get(), RECENT_PAYMENTS)));
+        return value != 0 ? value : values.get(0);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
@@ -0,0 +1,9 @@
+package com.ecom.payment.load;
+
+enum LoadOperation {
+    PROCESS,
+    REFUND,
+    GET_BY_ID,
+    GET_BY_ORDER,
+    GET_BY_USER
+}
@@ -0,0 +1,51 @@
+package com.ecom.payment.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code load.*} system properties so the same harness
+ * can run a short capacity gate or a long soak:
+ * <pre>
+ * mvn test -Pload-test -Dload.rate=500 -Dload.duration=PT30M -Dload.mix=PROCESS:40,GET_BY_ID:60
+ * </pre>
+ */
+record LoadProfile(
+        double ratePerSecond,
+        Duration warmup,
+        Duration duration,
+        Map<LoadOperation, Integer> mix,
+        int userCount,
+        int maxInFlight,
+        double maxP99Millis,
+        double maxP999Millis,
+        double maxErrorRate
+) {
+
+    static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                Double.parseDouble(System.getProperty("load.rate", "200")),
+                Duration.parse(System.getProperty("load.warmup", "PT10S")),
+                Duration.parse(System.getProperty("load.duration", "PT60S")),
+                parseMix(System.getProperty("load.mix",
+                        "PROCESS:30,REFUND:5,GET_BY_ID:25,GET_BY_ORDER:20,GET_BY_USER:20")),
+                Integer.parseInt(System.getProperty("load.users", "1000")),
+                Integer.parseInt(System.getProperty("load.max-in-flight", "10000")),
+                Double.parseDouble(System.getProperty("load.max-p99-ms", "250")),
+                Double.parseDouble(System.getProperty("load.max-p999-ms", "1000")),
+                Double.parseDouble(System.getProperty("load.max-error-rate", "0.001")));
+    }
+
+    private static Map<LoadOperation, Integer> parseMix(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry: " + entry);
+            }
+            weights.put(LoadOperation.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,157 @@
+package com.ecom.payment.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Result of one {@link LoadGenerator} run: per-operation latency histograms (in
+ * nanoseconds, from intended start) of completed requests, error counts including
+ * requests rejected by the in-flight cap, and JVM heap/GC activity over the measured
+ * period. The app runs in the same JVM, so the JVM figures cover both.
+ */
+class LoadReport {
+
+    private final LoadProfile profile;
+    private final Map<LoadOperation, Histogram> histograms;
+    private final Map<LoadOperation, AtomicLong> errors;
+    private final Map<LoadOperation, AtomicLong> rejected;
+    private final int unfinished;
+    private final long measuredNanos;
+    private final JvmSnapshot before;
+    private final JvmSnapshot after;
+
+    LoadReport(LoadProfile profile, Map<LoadOperation, Histogram> histograms, Map<LoadOperation, AtomicLong> errors,
+               Map<LoadOperation, AtomicLong> rejected, int unfinished, long measuredNanos,
+               JvmSnapshot before, JvmSnapshot after) {
+        this.profile = profile;
+        this.histograms = histograms;
+        this.errors = errors;
+        this.rejected = rejected;
+        this.unfinished = unfinished;
+        this.measuredNanos = measuredNanos;
+        this.before = before;
+        this.after = after;
+    }
+
+    Histogram overall() {
+        Histogram overall = new Histogram(3);
+        histograms.values().forEach(overall::add);
+        return overall;
+    }
+
+    long totalRequests() {
+        return overall().getTotalCount() + totalRejected() + unfinished;
+    }
+
+    long totalRejected() {
+        return rejected.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    long totalErrors() {
+        return errors.values().stream().mapToLong(AtomicLong::get).sum() + unfinished;
+    }
+
+    double errorRate() {
+        long total = totalRequests();
+        return total == 0 ? 0.0 : (double) totalErrors() / total;
+    }
+
+    static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    /**
+     * Checks the run against the profile's gates and returns one message per violation.
+     */
+    List<String> violations() {
+        List<String> violations = new ArrayList<>();
+        Histogram overall = overall();
+        if (overall.getTotalCount() == 0) {
+            violations.add("no requests were measured");
+            return violations;
+        }
+        if (millis(overall, 99.0) > profile.maxP99Millis()) {
+            violations.add(String.format("p99 %.1f ms exceeds %.1f ms", millis(overall, 99.0), profile.maxP99Millis()));
+        }
+        if (millis(overall, 99.9) > profile.maxP999Millis()) {
+            violations.add(String.format("p99.9 %.1f ms exceeds %.1f ms", millis(overall, 99.9), profile.maxP999Millis()));
+        }
+        if (errorRate() > profile.maxErrorRate()) {
+            violations.add(String.format("error rate %.4f exceeds %.4f", errorRate(), profile.maxErrorRate()));
+        }
+        return violations;
+    }
+
+    String format() {
+        StringBuilder sb = new StringBuilder();
+        double seconds = measuredNanos / 1e9;
+        sb.append(String.format("%nLoad test: target %.0f req/s for %s (warmup %s), achieved %.1f req/s%n",
+                profile.ratePerSecond(), profile.duration(), profile.warmup(), overall().getTotalCount() / seconds));
+        sb.append(String.format("%-13s %9s %7s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        histograms.forEach((operation, histogram) -> appendRow(sb, operation.name(), histogram,
+                errors.get(operation).get()));
+        appendRow(sb, "ALL", overall(), totalErrors());
+        if (totalRejected() > 0) {
+            sb.append(String.format("%d requests rejected by the in-flight cap, counted as errors%n", totalRejected()));
+        }
+        if (unfinished > 0) {
+            sb.append(String.format("%d requests still in flight after drain, counted as errors%n", unfinished));
+        }
+
+        long gcCount = after.gcCount() - before.gcCount();
+        long gcMillis = after.gcMillis() - before.gcMillis();
+        sb.append(String.format("GC: %d collections, %d ms total (%.2f%% of run)%n",
+                gcCount, gcMillis, 100.0 * gcMillis / TimeUnit.NANOSECONDS.toMillis(Math.max(1, measuredNanos))));
+        sb.append(String.format("Heap: %d MB used after run, %d MB peak, %d MB max%n",
+                after.heapUsed() >> 20, after.heapPeak() >> 20, after.heapMax() >> 20));
+        return sb.toString();
+    }
+
+    private static void appendRow(StringBuilder sb, String name, Histogram histogram, long errorCount) {
+        if (histogram.getTotalCount() == 0) {
+            sb.append(String.format("%-13s %9d %7d %9s %9s %9s %9s%n", name, 0, errorCount, "-", "-", "-", "-"));
+            return;
+        }
+        sb.append(String.format("%-13s %9d %7d %9.2f %9.2f %9.2f %9.2f%n", name, histogram.getTotalCount(), errorCount,
+                millis(histogram, 50.0), millis(histogram, 99.0), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1_000_000.0));
+    }
+
+    record JvmSnapshot(long gcCount, long gcMillis, long heapUsed, long heapPeak, long heapMax) {
+
+        /**
+         * Resets heap pool peaks so the final snapshot's peak covers only the measured period.
+         */
+        static JvmSnapshot start() {
+            ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+            return take();
+        }
+
+        static JvmSnapshot take() {
+            long gcCount = 0;
+            long gcMillis = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                gcCount += Math.max(0, gc.getCollectionCount());
+                gcMillis += Math.max(0, gc.getCollectionTime());
+            }
+            long heapPeak = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                    heapPeak += pool.getPeakUsage().getUsed();
+                }
+            }
+            var heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+            return new JvmSnapshot(gcCount, gcMillis, heap.getUsed(), heapPeak, heap.getMax());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecom.payment.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end capacity gate over the real HTTP stack. Excluded from the default build;
+ * run with {@code mvn test -Pload-test}. See {@link LoadProfile} for the knobs.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+class PaymentLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentLoadTest.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void mixedWorkload_ShouldStayWithinLatencyAndErrorBudgets() throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        LoadGenerator generator = new LoadGenerator(URI.create("http://localhost:" + port), profile, objectMapper);
+
+        generator.seed(100);
+        LoadReport report = generator.run();
+        log.info("{}", report.format());
+
+        List<String> violations = report.violations();
+        assertTrue(violations.isEmpty(), "Capacity gate failed: " + String.join("; ", violations));
+    }
+}
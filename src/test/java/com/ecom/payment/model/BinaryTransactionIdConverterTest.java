@@ -0,0 +1,45 @@
+package com.ecom.payment.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryTransactionIdConverterTest {
+
+    private final BinaryTransactionIdConverter converter = new BinaryTransactionIdConverter();
+
+    @Test
+    void convert_ShouldRoundTripThroughSixteenBytes() {
+        String id = "0190f3a1-7c2e-7abc-8123-456789abcdef";
+
+        byte[] column = converter.convertToDatabaseColumn(id);
+
+        assertEquals(16, column.length);
+        assertEquals(id, converter.convertToEntityAttribute(column));
+    }
+
+    @Test
+    void convertToDatabaseColumn_ShouldKeepTimeOrderAsUnsignedByteOrder() {
+        UUID earlier = new UUID(0x0190f3a17c2e7000L, 0x8000000000000001L);
+        UUID later = new UUID(0x0190f3a17c2f7000L, 0x8000000000000000L);
+
+        byte[] a = converter.convertToDatabaseColumn(earlier.toString());
+        byte[] b = converter.convertToDatabaseColumn(later.toString());
+
+        assertTrue(Arrays.compareUnsigned(a, b) < 0);
+    }
+
+    @Test
+    void convert_ShouldPassNullThrough() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void convertToDatabaseColumn_ShouldRejectNonUuid() {
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToDatabaseColumn("txn-123"));
+    }
+}
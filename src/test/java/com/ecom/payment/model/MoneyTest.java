@@ -0,0 +1,76 @@
+package com.ecom.payment.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void of_ShouldConvertToMinorUnits() {
+        assertEquals(new Money(5998, "USD"), Money.of(new BigDecimal("59.98"), "USD"));
+        assertEquals(new Money(5900, "USD"), Money.of(new BigDecimal("59"), "USD"));
+        assertEquals(new Money(1500, "JPY"), Money.of(new BigDecimal("1500"), "JPY"));
+        assertEquals(new Money(12345, "BHD"), Money.of(new BigDecimal("12.345"), "BHD"));
+    }
+
+    @Test
+    void of_ShouldAcceptTrailingZerosBeyondScale() {
+        assertEquals(new Money(5990, "USD"), Money.of(new BigDecimal("59.9000"), "USD"));
+    }
+
+    @Test
+    void of_ShouldRejectExtraFractionDigits() {
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("59.985"), "USD"));
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("10.5"), "JPY"));
+    }
+
+    @Test
+    void of_ShouldRejectOverflow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Money.of(new BigDecimal("100000000000000000000"), "USD"));
+    }
+
+    @Test
+    void constructor_ShouldRejectUnknownCurrency() {
+        assertThrows(IllegalArgumentException.class, () -> new Money(100, "ZZZ"));
+        assertThrows(IllegalArgumentException.class, () -> new Money(100, null));
+    }
+
+    @Test
+    void constructor_ShouldKeepRejectingUnknownCurrency_AfterKnownOnesAreCached() {
+        assertEquals(2, new Money(100, "USD").scale());
+        assertEquals(2, new Money(100, "USD").scale());
+
+        assertThrows(IllegalArgumentException.class, () -> new Money(100, "ZZZ"));
+        assertThrows(IllegalArgumentException.class, () -> new Money(100, "ZZZ"));
+    }
+
+    @Test
+    void toPlainString_ShouldFormatWithCurrencyScale() {
+        assertEquals("59.98", new Money(5998, "USD").toPlainString());
+        assertEquals("0.05", new Money(5, "USD").toPlainString());
+        assertEquals("-0.05", new Money(-5, "USD").toPlainString());
+        assertEquals("-12.30", new Money(-1230, "USD").toPlainString());
+        assertEquals("1500", new Money(1500, "JPY").toPlainString());
+        assertEquals("12.345", new Money(12345, "BHD").toPlainString());
+    }
+
+    @Test
+    void toBigDecimal_ShouldRoundTrip() {
+        assertEquals(new BigDecimal("59.98"), new Money(5998, "USD").toBigDecimal());
+    }
+
+    @Test
+    void plus_ShouldAddSameCurrency() {
+        assertEquals(new Money(7000, "USD"), new Money(5998, "USD").plus(new Money(1002, "USD")));
+    }
+
+    @Test
+    void plus_ShouldRejectMixedCurrencies() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new Money(100, "USD").plus(new Money(100, "EUR")));
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecom.payment.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentTest {
+
+    @Test
+    void getAmount_ShouldReturnSameInstance_UntilAmountChanges() {
+        Payment payment = new Payment(1L, 1L, new Money(5998, "USD"), "MOCK_CARD",
+                PaymentStatus.SUCCESS, "txn-1", LocalDateTime.now());
+
+        Money first = payment.getAmount();
+        assertSame(first, payment.getAmount());
+
+        payment.setAmount(new Money(100, "EUR"));
+        assertEquals(new Money(100, "EUR"), payment.getAmount());
+    }
+
+    @Test
+    void getAmount_ShouldBuildFromColumns_WhenLoadedWithoutSetter() {
+        // JPA populates fields directly, leaving the cached Money unset
+        Payment payment = new Payment();
+
+        assertEquals(new Money(0, Money.DEFAULT_CURRENCY), payment.getAmount());
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecom.payment.repository;
+
+import com.ecom.payment.model.Money;
+import com.ecom.payment.model.Payment;
+import com.ecom.payment.model.PaymentStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(BinaryTransactionIdConfiguration.class)
+@TestPropertySource(properties = "payment.transaction-id.storage=binary")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BinaryTransactionIdStorageTest {
+
+    private static final String TRANSACTION_ID = "0190f3a1-7c2e-7abc-8123-456789abcdef";
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void save_ShouldStoreSixteenBytesAndFindByStringId() {
+        Payment payment = paymentRepository.save(new Payment(1L, 1L, new Money(5998, "USD"), "MOCK_CARD",
+                PaymentStatus.SUCCESS, TRANSACTION_ID, LocalDateTime.now()));
+
+        byte[] column = jdbcTemplate.queryForObject(
+                "select transaction_id from payments where id = ?", byte[].class, payment.getId());
+        assertEquals(16, column.length);
+        assertEquals(payment.getId(), paymentRepository.findByTransactionId(TRANSACTION_ID).orElseThrow().getId());
+        paymentRepository.deleteById(payment.getId());
+    }
+}
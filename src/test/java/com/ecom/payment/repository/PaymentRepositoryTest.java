@@ -0,0 +1,72 @@
+package com.ecom.payment.repository;
+
+import com.ecom.payment.model.Money;
+import com.ecom.payment.model.Payment;
+import com.ecom.payment.model.PaymentStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PaymentRepositoryTest {
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Test
+    void deleteByIdInAndStatus_ShouldKeepRow_WhenStatusChangedAfterRead() {
+        Payment payment = paymentRepository.save(new Payment(1L, 1L, new Money(5998, "USD"), "MOCK_CARD",
+                PaymentStatus.SUCCESS, "txn-archive-race", LocalDateTime.now().minusDays(60)));
+        Long id = payment.getId();
+
+        // archiver read the row as SUCCESS; a refund lands before the delete
+        paymentRepository.updateStatus(List.of(id), PaymentStatus.SUCCESS, PaymentStatus.REFUNDED);
+        int deleted = paymentRepository.deleteByIdInAndStatus(List.of(id), PaymentStatus.SUCCESS);
+
+        assertEquals(0, deleted);
+        assertEquals(PaymentStatus.REFUNDED, paymentRepository.findById(id).orElseThrow().getStatus());
+        paymentRepository.deleteById(id);
+    }
+
+    @Test
+    void updateStatus_ShouldOnlyMovePaymentsStillInFromStatus() {
+        Payment payment = paymentRepository.save(new Payment(2L, 1L, new Money(5998, "USD"), "MOCK_CARD",
+                PaymentStatus.PENDING, "txn-sweeper-race", LocalDateTime.now()));
+        Long id = payment.getId();
+
+        assertEquals(1, paymentRepository.updateStatus(List.of(id), PaymentStatus.PENDING, PaymentStatus.FAILED));
+        assertEquals(0, paymentRepository.updateStatus(List.of(id), PaymentStatus.PENDING, PaymentStatus.SUCCESS));
+        assertEquals(PaymentStatus.FAILED, paymentRepository.findById(id).orElseThrow().getStatus());
+        paymentRepository.deleteById(id);
+    }
+
+    @Test
+    void findArchivable_ShouldHoldSuccessfulPaymentsUntilRefundCutoff() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Payment> saved = paymentRepository.saveAll(List.of(
+                new Payment(3L, 1L, new Money(100, "USD"), "MOCK_CARD", PaymentStatus.FAILED,
+                        "txn-old-failed", now.minusDays(60)),
+                new Payment(4L, 1L, new Money(100, "USD"), "MOCK_CARD", PaymentStatus.SUCCESS,
+                        "txn-refundable", now.minusDays(60)),
+                new Payment(5L, 1L, new Money(100, "USD"), "MOCK_CARD", PaymentStatus.SUCCESS,
+                        "txn-past-window", now.minusDays(120)),
+                new Payment(6L, 1L, new Money(100, "USD"), "MOCK_CARD", PaymentStatus.PENDING,
+                        "txn-stuck", now.minusDays(120))));
+
+        List<Payment> archivable = paymentRepository.findArchivable(
+                now.minusDays(30), now.minusDays(90), PageRequest.of(0, 10));
+
+        assertEquals(List.of("txn-old-failed", "txn-past-window"),
+                archivable.stream().map(Payment::getTransactionId).toList());
+        paymentRepository.deleteAll(saved);
+    }
+}
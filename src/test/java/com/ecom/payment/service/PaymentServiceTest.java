@@ -1,19 +1,24 @@
 package com.ecom.payment.service;
 
+import com.ecom.payment.archive.PaymentArchive;
 import com.ecom.payment.dto.PaymentRequest;
 import com.ecom.payment.dto.PaymentResponse;
 import com.ecom.payment.dto.RefundRequest;
+import com.ecom.payment.exception.InvalidAmountException;
 import com.ecom.payment.exception.PaymentNotFoundException;
 import com.ecom.payment.exception.PaymentProcessingException;
+import com.ecom.payment.model.Money;
 import com.ecom.payment.model.Payment;
 import com.ecom.payment.model.PaymentStatus;
 import com.ecom.payment.repository.PaymentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -22,6 +27,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +37,15 @@ class PaymentServiceTest {
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Mock
+    private PaymentArchive paymentArchive;
+
+    @Mock
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PaymentService paymentService;
 
@@ -37,46 +53,111 @@ class PaymentServiceTest {
 
     @BeforeEach
     void setUp() {
-        payment = new Payment(1L, 1L, new BigDecimal("59.98"), "MOCK_CARD",
+        payment = new Payment(1L, 1L, new Money(5998, "USD"), "MOCK_CARD",
                 PaymentStatus.SUCCESS, "txn-123", LocalDateTime.now());
         payment.setId(1L);
     }
 
     @Test
     void processPayment_ShouldCreatePayment() {
-        PaymentRequest request = new PaymentRequest(1L, 1L, new BigDecimal("59.98"), "MOCK_CARD");
+        PaymentRequest request = new PaymentRequest(1L, 1L, new BigDecimal("59.98"), "MOCK_CARD", null);
 
+        when(transactionIdGenerator.nextId()).thenReturn("txn-456");
         when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
             Payment saved = invocation.getArgument(0);
             saved.setId(1L);
             return saved;
         });
+        when(paymentRepository.updateStatus(anyCollection(), eq(PaymentStatus.PENDING), any())).thenReturn(1);
 
         PaymentResponse response = paymentService.processPayment(request);
 
         assertNotNull(response);
         assertEquals(1L, response.orderId());
         assertEquals(1L, response.userId());
-        assertEquals(new BigDecimal("59.98"), response.amount());
-        assertNotNull(response.transactionId());
+        assertEquals(new Money(5998, "USD"), response.amount());
+        assertEquals("txn-456", response.transactionId());
         assertTrue(response.status() == PaymentStatus.SUCCESS || response.status() == PaymentStatus.FAILED);
-        verify(paymentRepository, times(2)).save(any(Payment.class));
+        verify(paymentRepository, times(1)).save(any(Payment.class));
+
+        ArgumentCaptor<PaymentStatusChangedEvent> event = ArgumentCaptor.forClass(PaymentStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(response.status(), event.getValue().status());
+        assertEquals("txn-456", event.getValue().transactionId());
     }
 
     @Test
     void processPayment_ShouldUseDefaultPaymentMethod_WhenNull() {
-        PaymentRequest request = new PaymentRequest(1L, 1L, new BigDecimal("59.98"), null);
+        PaymentRequest request = new PaymentRequest(1L, 1L, new BigDecimal("59.98"), null, null);
 
+        when(transactionIdGenerator.nextId()).thenReturn("txn-456");
         when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
             Payment saved = invocation.getArgument(0);
             saved.setId(1L);
             return saved;
         });
+        when(paymentRepository.updateStatus(anyCollection(), eq(PaymentStatus.PENDING), any())).thenReturn(1);
 
         PaymentResponse response = paymentService.processPayment(request);
 
         assertNotNull(response);
-        verify(paymentRepository, times(2)).save(any(Payment.class));
+        verify(paymentRepository, times(1)).save(any(Payment.class));
+    }
+
+    @Test
+    void processPayment_ShouldUseRequestedCurrency() {
+        PaymentRequest request = new PaymentRequest(1L, 1L, new BigDecimal("1500"), "MOCK_CARD", "JPY");
+
+        when(transactionIdGenerator.nextId()).thenReturn("txn-456");
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
+            Payment saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+        when(paymentRepository.updateStatus(anyCollection(), eq(PaymentStatus.PENDING), any())).thenReturn(1);
+
+        PaymentResponse response = paymentService.processPayment(request);
+
+        assertEquals(new Money(1500, "JPY"), response.amount());
+    }
+
+    @Test
+    void processPayment_ShouldKeepSweeperOutcome_WhenExpiredConcurrently() {
+        PaymentRequest request = new PaymentRequest(1L, 1L, new BigDecimal("59.98"), "MOCK_CARD", null);
+        payment.setStatus(PaymentStatus.FAILED);
+
+        when(transactionIdGenerator.nextId()).thenReturn("txn-456");
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
+            Payment saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+        when(paymentRepository.updateStatus(anyCollection(), eq(PaymentStatus.PENDING), any())).thenReturn(0);
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment));
+
+        PaymentResponse response = paymentService.processPayment(request);
+
+        assertEquals(PaymentStatus.FAILED, response.status());
+        assertTrue(response.message().contains("expired"));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void processPayment_ShouldRejectAmountWithTooManyDecimals() {
+        PaymentRequest request = new PaymentRequest(1L, 1L, new BigDecimal("59.985"), "MOCK_CARD", null);
+
+        assertThrows(InvalidAmountException.class, () -> paymentService.processPayment(request));
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @Test
+    void processPayment_ShouldRejectUnknownCurrency() {
+        PaymentRequest request = new PaymentRequest(1L, 1L, new BigDecimal("59.98"), "MOCK_CARD", "ZZZ");
+
+        InvalidAmountException ex = assertThrows(InvalidAmountException.class,
+                () -> paymentService.processPayment(request));
+        assertEquals("Unknown currency: ZZZ", ex.getMessage());
+        verify(paymentRepository, never()).save(any(Payment.class));
     }
 
     @Test
@@ -99,6 +180,17 @@ class PaymentServiceTest {
         assertThrows(PaymentNotFoundException.class, () -> paymentService.getPaymentById(99L));
     }
 
+    @Test
+    void getPaymentById_ShouldFallThroughToArchive() {
+        when(paymentRepository.findById(1L)).thenReturn(Optional.empty());
+        when(paymentArchive.findById(1L)).thenReturn(Optional.of(payment));
+
+        PaymentResponse response = paymentService.getPaymentById(1L);
+
+        assertEquals(1L, response.id());
+        assertEquals("txn-123", response.transactionId());
+    }
+
     @Test
     void getPaymentByOrderId_ShouldReturnPayment() {
         when(paymentRepository.findByOrderId(1L)).thenReturn(Optional.of(payment));
@@ -116,6 +208,16 @@ class PaymentServiceTest {
         assertThrows(PaymentNotFoundException.class, () -> paymentService.getPaymentByOrderId(99L));
     }
 
+    @Test
+    void getPaymentByOrderId_ShouldFallThroughToArchive() {
+        when(paymentRepository.findByOrderId(1L)).thenReturn(Optional.empty());
+        when(paymentArchive.findByOrderId(1L)).thenReturn(Optional.of(payment));
+
+        PaymentResponse response = paymentService.getPaymentByOrderId(1L);
+
+        assertEquals(1L, response.orderId());
+    }
+
     @Test
     void getPaymentsByUserId_ShouldReturnPayments() {
         when(paymentRepository.findByUserId(1L)).thenReturn(List.of(payment));
@@ -126,6 +228,21 @@ class PaymentServiceTest {
         assertEquals(1L, responses.get(0).userId());
     }
 
+    @Test
+    void getPaymentsByUserId_ShouldMergeArchivedPayments() {
+        Payment archived = new Payment(2L, 1L, new Money(1000, "USD"), "MOCK_CARD",
+                PaymentStatus.FAILED, "txn-old", LocalDateTime.now().minusDays(60));
+        archived.setId(2L);
+        when(paymentRepository.findByUserId(1L)).thenReturn(List.of(payment));
+        when(paymentArchive.findByUserId(1L)).thenReturn(List.of(archived, payment));
+
+        List<PaymentResponse> responses = paymentService.getPaymentsByUserId(1L);
+
+        assertEquals(2, responses.size());
+        assertEquals(1L, responses.get(0).id());
+        assertEquals(2L, responses.get(1).id());
+    }
+
     @Test
     void getPaymentsByUserId_ShouldReturnEmptyList_WhenNoPayments() {
         when(paymentRepository.findByUserId(99L)).thenReturn(List.of());
@@ -138,7 +255,7 @@ class PaymentServiceTest {
     @Test
     void refundPayment_ShouldRefundSuccessfulPayment() {
         when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment));
-        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentRepository.updateStatus(List.of(1L), PaymentStatus.SUCCESS, PaymentStatus.REFUNDED)).thenReturn(1);
 
         RefundRequest request = new RefundRequest(1L, "Customer requested");
         PaymentResponse response = paymentService.refundPayment(1L, request);
@@ -147,6 +264,10 @@ class PaymentServiceTest {
         assertEquals(PaymentStatus.REFUNDED, response.status());
         assertTrue(response.message().contains("refunded"));
         assertTrue(response.message().contains("Customer requested"));
+
+        ArgumentCaptor<PaymentStatusChangedEvent> event = ArgumentCaptor.forClass(PaymentStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(PaymentStatus.REFUNDED, event.getValue().status());
     }
 
     @Test
@@ -169,6 +290,17 @@ class PaymentServiceTest {
                 () -> paymentService.refundPayment(1L, request));
     }
 
+    @Test
+    void refundPayment_ShouldThrowException_WhenStatusChangedConcurrently() {
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment));
+        when(paymentRepository.updateStatus(List.of(1L), PaymentStatus.SUCCESS, PaymentStatus.REFUNDED)).thenReturn(0);
+
+        RefundRequest request = new RefundRequest(1L, "Concurrent refund");
+        assertThrows(PaymentProcessingException.class,
+                () -> paymentService.refundPayment(1L, request));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
     @Test
     void refundPayment_ShouldThrowException_WhenNotFound() {
         when(paymentRepository.findById(99L)).thenReturn(Optional.empty());
@@ -178,10 +310,20 @@ class PaymentServiceTest {
                 () -> paymentService.refundPayment(99L, request));
     }
 
+    @Test
+    void refundPayment_ShouldThrowException_WhenArchived() {
+        when(paymentRepository.findById(1L)).thenReturn(Optional.empty());
+        when(paymentArchive.findById(1L)).thenReturn(Optional.of(payment));
+
+        RefundRequest request = new RefundRequest(1L, "Too late");
+        assertThrows(PaymentProcessingException.class,
+                () -> paymentService.refundPayment(1L, request));
+    }
+
     @Test
     void refundPayment_ShouldHandleNullReason() {
         when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment));
-        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentRepository.updateStatus(List.of(1L), PaymentStatus.SUCCESS, PaymentStatus.REFUNDED)).thenReturn(1);
 
         RefundRequest request = new RefundRequest(1L, null);
         PaymentResponse response = paymentService.refundPayment(1L, request);
@@ -0,0 +1,119 @@
+package com.ecom.payment.service;
+
+import com.ecom.payment.model.Money;
+import com.ecom.payment.model.Payment;
+import com.ecom.payment.model.PaymentStatus;
+import com.ecom.payment.repository.PaymentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PendingPaymentSweeperTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PendingPaymentSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new PendingPaymentSweeper(paymentRepository, TransactionOperations.withoutTransaction(),
+                eventPublisher, meterRegistry, Duration.ofMinutes(15), 2, 3);
+    }
+
+    @Test
+    void sweep_ShouldExpireStalePaymentsInBatches() {
+        when(paymentRepository.findIdsByStatusAndCreatedAtBefore(eq(PaymentStatus.PENDING), any(LocalDateTime.class), any()))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        stubStillPending();
+
+        int expired = sweeper.sweepOnce();
+
+        assertEquals(3, expired);
+        verify(paymentRepository).updateStatus(List.of(1L, 2L), PaymentStatus.PENDING, PaymentStatus.FAILED);
+        verify(paymentRepository).updateStatus(List.of(3L), PaymentStatus.PENDING, PaymentStatus.FAILED);
+        assertEquals(3.0, meterRegistry.get("payments.sweeper.expired").counter().count());
+    }
+
+    @Test
+    void sweep_ShouldPublishEventForEachExpiredPayment_AndSkipCompletedOnes() {
+        when(paymentRepository.findIdsByStatusAndCreatedAtBefore(eq(PaymentStatus.PENDING), any(LocalDateTime.class), any()))
+                .thenReturn(List.of(1L, 2L), List.of());
+        // payment 1 completed between the id lookup and the lock
+        when(paymentRepository.findByIdInAndStatusForUpdate(List.of(1L, 2L), PaymentStatus.PENDING))
+                .thenReturn(List.of(pending(2L)));
+
+        int expired = sweeper.sweepOnce();
+
+        assertEquals(1, expired);
+        verify(paymentRepository).updateStatus(List.of(2L), PaymentStatus.PENDING, PaymentStatus.FAILED);
+        ArgumentCaptor<PaymentStatusChangedEvent> event = ArgumentCaptor.forClass(PaymentStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(2L, event.getValue().paymentId());
+        assertEquals(PaymentStatus.FAILED, event.getValue().status());
+    }
+
+    @Test
+    void sweep_ShouldStopAtMaxBatchesAndReportBacklog() {
+        when(paymentRepository.findIdsByStatusAndCreatedAtBefore(eq(PaymentStatus.PENDING), any(LocalDateTime.class), any()))
+                .thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of(5L, 6L));
+        stubStillPending();
+        when(paymentRepository.countByStatusAndCreatedAtBefore(eq(PaymentStatus.PENDING), any(LocalDateTime.class)))
+                .thenReturn(10L);
+
+        int expired = sweeper.sweepOnce();
+
+        assertEquals(6, expired);
+        verify(paymentRepository, times(3)).updateStatus(anyList(), any(), any());
+        assertEquals(10.0, meterRegistry.get("payments.sweeper.backlog").gauge().value());
+    }
+
+    @Test
+    void sweep_ShouldDoNothing_WhenNoStalePayments() {
+        when(paymentRepository.findIdsByStatusAndCreatedAtBefore(eq(PaymentStatus.PENDING), any(LocalDateTime.class), any()))
+                .thenReturn(List.of());
+
+        sweeper.sweep();
+
+        verify(paymentRepository, never()).updateStatus(anyList(), any(), any());
+        verifyNoInteractions(eventPublisher);
+        assertEquals(1, meterRegistry.get("payments.sweeper.duration").timer().count());
+    }
+
+    private void stubStillPending() {
+        when(paymentRepository.findByIdInAndStatusForUpdate(anyList(), eq(PaymentStatus.PENDING)))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).stream()
+                        .map(PendingPaymentSweeperTest::pending)
+                        .toList());
+    }
+
+    private static Payment pending(Long id) {
+        Payment payment = new Payment(id, 1L, new Money(100, "USD"), "MOCK_CARD",
+                PaymentStatus.PENDING, "txn-" + id, LocalDateTime.now().minusHours(1));
+        payment.setId(id);
+        return payment;
+    }
+}
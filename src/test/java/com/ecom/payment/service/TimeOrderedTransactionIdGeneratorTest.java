@@ -0,0 +1,69 @@
+package com.ecom.payment.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedTransactionIdGeneratorTest {
+
+    private final TimeOrderedTransactionIdGenerator generator = new TimeOrderedTransactionIdGenerator(42);
+
+    @Test
+    void nextUuid_ShouldBeVersion7WithRfcVariant() {
+        UUID uuid = generator.nextUuid();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void nextUuid_ShouldEmbedCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = generator.nextUuid();
+        long after = System.currentTimeMillis();
+
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= after + 1);
+    }
+
+    @Test
+    void nextUuid_ShouldEmbedNodeId() {
+        UUID uuid = generator.nextUuid();
+
+        assertEquals(42L, (uuid.getLeastSignificantBits() >>> 46) & 0xFFFFL);
+    }
+
+    @Test
+    void nextId_ShouldBeStrictlyIncreasing() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            ids.add(generator.nextId());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0,
+                    "IDs out of order at " + i + ": " + ids.get(i - 1) + " >= " + ids.get(i));
+        }
+    }
+
+    @Test
+    void nextId_ShouldBeUniqueAcrossThreads() {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 100_000).parallel().forEach(i -> ids.add(generator.nextId()));
+
+        assertEquals(100_000, ids.size());
+    }
+
+    @Test
+    void constructor_ShouldRejectOutOfRangeNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedTransactionIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedTransactionIdGenerator(65536));
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecom.payment.webhook;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    private final TimerWheel<String> wheel = new TimerWheel<>(Duration.ofMillis(100), 8);
+
+    @Test
+    void advance_ShouldFireZeroDelayOnNextTick() {
+        wheel.schedule("a", Duration.ZERO);
+
+        assertEquals(List.of("a"), wheel.advance());
+        assertEquals(List.of(), wheel.advance());
+    }
+
+    @Test
+    void advance_ShouldRoundDelayUpToWholeTicks() {
+        wheel.schedule("a", Duration.ofMillis(250));
+
+        assertEquals(List.of(), wheel.advance());
+        assertEquals(List.of(), wheel.advance());
+        assertEquals(List.of("a"), wheel.advance());
+    }
+
+    @Test
+    void advance_ShouldHandleDelaysLongerThanOneRevolution() {
+        wheel.schedule("a", Duration.ofMillis(800));
+        wheel.schedule("b", Duration.ofMillis(2_000));
+
+        for (int tick = 1; tick <= 20; tick++) {
+            List<String> expired = wheel.advance();
+            if (tick == 8) {
+                assertEquals(List.of("a"), expired);
+            } else if (tick == 20) {
+                assertEquals(List.of("b"), expired);
+            } else {
+                assertTrue(expired.isEmpty(), "Unexpected expiry at tick " + tick);
+            }
+        }
+    }
+
+    @Test
+    void advance_ShouldMeasureDelayFromCurrentTick() {
+        wheel.advance();
+        wheel.advance();
+        wheel.advance();
+        wheel.schedule("a", Duration.ofMillis(300));
+
+        assertEquals(List.of(), wheel.advance());
+        assertEquals(List.of(), wheel.advance());
+        assertEquals(List.of("a"), wheel.advance());
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPowerOfTwoSize() {
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel<>(Duration.ofMillis(100), 6));
+    }
+}
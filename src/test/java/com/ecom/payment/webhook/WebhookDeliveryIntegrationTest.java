@@ -0,0 +1,167 @@
+package com.ecom.payment.webhook;
+
+import com.ecom.payment.dto.PaymentRequest;
+import com.ecom.payment.dto.PaymentResponse;
+import com.ecom.payment.dto.WebhookEndpointResponse;
+import com.ecom.payment.dto.WebhookRegistrationRequest;
+import com.ecom.payment.model.WebhookDeliveryStatus;
+import com.ecom.payment.repository.WebhookDeliveryRepository;
+import com.ecom.payment.service.PaymentService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "payment.webhook.tick=PT0.01S",
+        "payment.webhook.initial-backoff=PT0.05S",
+        "payment.webhook.max-backoff=PT0.2S",
+        "payment.webhook.allow-private-addresses=true"
+})
+class WebhookDeliveryIntegrationTest {
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private WebhookService webhookService;
+
+    @Autowired
+    private WebhookDeliveryRepository deliveryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private HttpServer stubServer;
+    private final Queue<Integer> scriptedStatuses = new ConcurrentLinkedQueue<>();
+    private final Queue<String> receivedBodies = new ConcurrentLinkedQueue<>();
+    private final Queue<String> badSignatures = new ConcurrentLinkedQueue<>();
+    private static final Long MERCHANT_USER_ID = 1L;
+
+    private Long endpointId;
+    private String secret;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.createContext("/hooks", exchange -> {
+            String body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            long timestamp = Long.parseLong(exchange.getRequestHeaders().getFirst(WebhookSignatures.TIMESTAMP_HEADER));
+            String signature = exchange.getRequestHeaders().getFirst(WebhookSignatures.SIGNATURE_HEADER);
+            if (!WebhookSignatures.sign(secret, timestamp, body).equals(signature)) {
+                badSignatures.add(body);
+            }
+            receivedBodies.add(body);
+            Integer status = scriptedStatuses.poll();
+            exchange.sendResponseHeaders(status != null ? status : 204, -1);
+            exchange.close();
+        });
+        stubServer.start();
+
+        String url = "http://localhost:" + stubServer.getAddress().getPort() + "/hooks";
+        WebhookEndpointResponse endpoint = webhookService.register(new WebhookRegistrationRequest(MERCHANT_USER_ID, url));
+        endpointId = endpoint.id();
+        secret = endpoint.secret();
+    }
+
+    @AfterEach
+    void tearDown() {
+        webhookService.unregister(MERCHANT_USER_ID, endpointId);
+        stubServer.stop(0);
+    }
+
+    @Test
+    void processPayment_ShouldDeliverEveryOutcomeToEndpoint() throws Exception {
+        List<String> transactionIds = new ArrayList<>();
+        for (long orderId = 1; orderId <= 5; orderId++) {
+            PaymentResponse response = paymentService.processPayment(
+                    new PaymentRequest(orderId, MERCHANT_USER_ID, new BigDecimal("59.98"), "MOCK_CARD", null));
+            transactionIds.add(response.transactionId());
+        }
+
+        awaitTrue(() -> receivedEvents().size() >= 5);
+
+        List<JsonNode> events = receivedEvents();
+        assertEquals(Set.copyOf(transactionIds),
+                events.stream().map(event -> event.get("transactionId").asText()).collect(Collectors.toSet()));
+        JsonNode first = events.get(0);
+        assertEquals(59.98, first.get("amount").asDouble());
+        assertEquals("USD", first.get("currency").asText());
+        assertTrue(Set.of("SUCCESS", "FAILED").contains(first.get("status").asText()));
+        assertTrue(badSignatures.isEmpty(), "Every request should carry a valid signature");
+        awaitTrue(() -> deliveryRepository.countByStatus(WebhookDeliveryStatus.PENDING) == 0);
+    }
+
+    @Test
+    void processPayment_ShouldRetryUntilEndpointAccepts() throws Exception {
+        scriptedStatuses.add(503);
+        scriptedStatuses.add(500);
+
+        PaymentResponse response = paymentService.processPayment(
+                new PaymentRequest(100L, MERCHANT_USER_ID, new BigDecimal("10.00"), "MOCK_CARD", null));
+
+        awaitTrue(() -> receivedBodies.size() >= 3);
+        awaitTrue(() -> deliveryRepository.countByStatus(WebhookDeliveryStatus.PENDING) == 0);
+        assertTrue(receivedEvents().stream()
+                .allMatch(event -> event.get("transactionId").asText().equals(response.transactionId())));
+    }
+
+    @Test
+    void processPayment_ShouldOnlyDeliverEventsForEndpointOwner() throws Exception {
+        paymentService.processPayment(new PaymentRequest(200L, 99L, new BigDecimal("10.00"), "MOCK_CARD", null));
+        PaymentResponse own = paymentService.processPayment(
+                new PaymentRequest(201L, MERCHANT_USER_ID, new BigDecimal("10.00"), "MOCK_CARD", null));
+
+        awaitTrue(() -> receivedEvents().stream()
+                .anyMatch(event -> event.get("transactionId").asText().equals(own.transactionId())));
+        assertTrue(receivedEvents().stream()
+                .allMatch(event -> event.get("userId").asLong() == MERCHANT_USER_ID));
+    }
+
+    private List<JsonNode> receivedEvents() {
+        List<JsonNode> events = new ArrayList<>();
+        for (String body : receivedBodies) {
+            try {
+                objectMapper.readTree(body).forEach(events::add);
+            } catch (IOException ex) {
+                throw new AssertionError("Stub received invalid JSON: " + body, ex);
+            }
+        }
+        return events;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met within 10 seconds");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.ecom.payment.webhook;
+
+import com.ecom.payment.model.WebhookDelivery;
+import com.ecom.payment.model.WebhookDeliveryStatus;
+import com.ecom.payment.model.WebhookEndpoint;
+import com.ecom.payment.repository.WebhookDeliveryRepository;
+import com.ecom.payment.repository.WebhookEndpointRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookDispatcherTest {
+
+    @Mock
+    private WebhookDeliveryRepository deliveryRepository;
+
+    @Mock
+    private WebhookEndpointRepository endpointRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private WebhookDispatcher dispatcher;
+
+    private HttpServer stubServer;
+    private ExecutorService stubExecutor;
+    private final AtomicInteger responseStatus = new AtomicInteger(200);
+    private final Queue<String> receivedBodies = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private final Map<Long, WebhookDelivery> stored = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.createContext("/hooks", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try (InputStream in = exchange.getRequestBody()) {
+                receivedBodies.add(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            exchange.sendResponseHeaders(responseStatus.get(), -1);
+            exchange.close();
+        });
+        stubExecutor = Executors.newCachedThreadPool();
+        stubServer.setExecutor(stubExecutor);
+        stubServer.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        // A one-hour tick keeps the ticker from firing during the test
+        dispatcher = new WebhookDispatcher(deliveryRepository, endpointRepository, new WebhookUrlValidator(true),
+                meterRegistry, Duration.ofHours(1), 8, 50, 4, Duration.ofSeconds(1),
+                Duration.ofSeconds(1), Duration.ofMinutes(1), 10, 100, Duration.ofDays(7));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+        stubServer.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    void getPhase_ShouldStartBeforeWebServer() {
+        assertTrue(dispatcher.getPhase() < SmartLifecycle.DEFAULT_PHASE - 2048);
+    }
+
+    @Test
+    void start_ShouldNotCountDeliveriesQueuedBeforeStartTwice() {
+        WebhookEndpoint endpoint = new WebhookEndpoint(1L, "https://merchant.example/hooks", "secret",
+                LocalDateTime.now());
+        endpoint.setId(1L);
+        when(deliveryRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<WebhookDelivery> deliveries = invocation.getArgument(0);
+            deliveries.get(0).setId(1L);
+            return deliveries;
+        });
+        dispatcher.enqueue(List.of(endpoint), "{}");
+        when(deliveryRepository.findByStatus(WebhookDeliveryStatus.PENDING))
+                .thenReturn(List.of(delivery(1L), delivery(2L)));
+
+        dispatcher.start();
+
+        assertEquals(2.0, meterRegistry.get("payments.webhook.queued").gauge().value());
+    }
+
+    @Test
+    void purgeDead_ShouldDeleteDeadDeliveriesOlderThanRetention() {
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.purgeDead();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(deliveryRepository).deleteByStatusAndCreatedAtBefore(eq(WebhookDeliveryStatus.DEAD), cutoff.capture());
+        assertFalse(cutoff.getValue().isBefore(before.minusDays(7)));
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusDays(7).plusSeconds(1)));
+    }
+
+    @Test
+    void onFailed_ShouldBackOffEachDeliveryOnItsOwnAttemptCount() {
+        dispatcher = dispatcher(50, 4, 10);
+        WebhookEndpoint endpoint = stubEndpoint();
+        responseStatus.set(500);
+        dispatcher.enqueue(List.of(endpoint), "{\"event\":1}");
+        dispatcher.enqueue(List.of(endpoint), "{\"event\":2}");
+        WebhookDelivery fresh = stored.get(1L);
+        WebhookDelivery retried = stored.get(2L);
+        retried.setAttempts(6);
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.tick();
+        await(() -> counter("retried") == 2);
+
+        assertEquals(1, receivedBodies.size());
+        // attempt 1: up to initial-backoff (1s); attempt 7: 64s capped at max-backoff (1min), at least half
+        assertTrue(fresh.getNextAttemptAt().isBefore(before.plusSeconds(2)));
+        assertTrue(retried.getNextAttemptAt().isAfter(before.plusSeconds(29)));
+    }
+
+    @Test
+    void dispatch_ShouldSplitDueDeliveriesIntoBatchesOfMaxBatchSize() throws Exception {
+        dispatcher = dispatcher(2, 4, 10);
+        WebhookEndpoint endpoint = stubEndpoint();
+        for (int i = 1; i <= 5; i++) {
+            dispatcher.enqueue(List.of(endpoint), "{\"event\":" + i + "}");
+        }
+
+        dispatcher.tick();
+        await(() -> counter("delivered") == 5);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Integer> batchSizes = new ArrayList<>();
+        for (String body : receivedBodies) {
+            batchSizes.add(objectMapper.readTree(body).size());
+        }
+        batchSizes.sort(null);
+        assertEquals(List.of(1, 2, 2), batchSizes);
+    }
+
+    @Test
+    void dispatch_ShouldDeferBatchesOverConcurrencyLimitToLaterTicks() {
+        dispatcher = dispatcher(1, 1, 10);
+        WebhookEndpoint endpoint = stubEndpoint();
+        release = new CountDownLatch(1);
+        for (int i = 1; i <= 3; i++) {
+            dispatcher.enqueue(List.of(endpoint), "{\"event\":" + i + "}");
+        }
+
+        dispatcher.tick();
+        await(() -> receivedBodies.size() == 1);
+        // The deferred batches come due again, but the only permit is still held
+        dispatcher.tick();
+        dispatcher.tick();
+        assertEquals(1, receivedBodies.size());
+
+        release.countDown();
+        await(() -> {
+            dispatcher.tick();
+            return counter("delivered") == 3;
+        });
+        assertEquals(1, maxInFlight.get());
+        assertEquals(Set.of("[{\"event\":1}]", "[{\"event\":2}]", "[{\"event\":3}]"),
+                new HashSet<>(receivedBodies));
+    }
+
+    @Test
+    void onFailed_ShouldMarkDeliveryDead_WhenMaxAttemptsReached() {
+        dispatcher = dispatcher(50, 4, 3);
+        WebhookEndpoint endpoint = stubEndpoint();
+        responseStatus.set(500);
+        dispatcher.enqueue(List.of(endpoint), "{}");
+        WebhookDelivery delivery = stored.get(1L);
+        delivery.setAttempts(2);
+
+        dispatcher.tick();
+        await(() -> counter("dead") == 1);
+
+        assertEquals(WebhookDeliveryStatus.DEAD, delivery.getStatus());
+        assertEquals(3, delivery.getAttempts());
+        assertEquals(0.0, counter("retried"));
+        assertEquals(0.0, meterRegistry.get("payments.webhook.queued").gauge().value());
+    }
+
+    @Test
+    void backoff_ShouldDoubleFromInitialUpToMaxWithUpperHalfJitter() {
+        // initial-backoff 1s, max-backoff 1min
+        for (int attempts = 1; attempts <= 40; attempts++) {
+            long capped = Math.min(1000L << Math.min(attempts - 1, 30), 60_000L);
+            for (int sample = 0; sample < 50; sample++) {
+                long delay = dispatcher.backoff(attempts).toMillis();
+                assertTrue(delay >= capped / 2 && delay <= capped,
+                        "attempt " + attempts + ": " + delay + "ms outside [" + capped / 2 + ", " + capped + "]");
+            }
+        }
+    }
+
+    @Test
+    void backoff_ShouldSpreadRetriesOfSameAttempt() {
+        Set<Duration> delays = new HashSet<>();
+        for (int sample = 0; sample < 20; sample++) {
+            delays.add(dispatcher.backoff(5));
+        }
+
+        assertTrue(delays.size() > 1);
+    }
+
+    private static WebhookDelivery delivery(Long id) {
+        WebhookDelivery delivery = new WebhookDelivery(1L, "{}", LocalDateTime.now());
+        delivery.setId(id);
+        return delivery;
+    }
+
+    /**
+     * A dispatcher whose ticker is never started: tests drive it with {@link WebhookDispatcher#tick()}.
+     */
+    private WebhookDispatcher dispatcher(int maxBatchSize, int maxConcurrency, int maxAttempts) {
+        dispatcher.stop();
+        meterRegistry = new SimpleMeterRegistry();
+        return new WebhookDispatcher(deliveryRepository, endpointRepository, new WebhookUrlValidator(true),
+                meterRegistry, Duration.ofMillis(10), 8, maxBatchSize, maxConcurrency, Duration.ofSeconds(5),
+                Duration.ofSeconds(1), Duration.ofMinutes(1), maxAttempts, 100, Duration.ofDays(7));
+    }
+
+    /**
+     * Registers an endpoint pointing at the stub server and backs the delivery repository
+     * with an in-memory map.
+     */
+    private WebhookEndpoint stubEndpoint() {
+        WebhookEndpoint endpoint = new WebhookEndpoint(1L,
+                "http://localhost:" + stubServer.getAddress().getPort() + "/hooks", "secret", LocalDateTime.now());
+        endpoint.setId(1L);
+        when(endpointRepository.findAllById(any())).thenReturn(List.of(endpoint));
+        when(deliveryRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<WebhookDelivery> deliveries = invocation.getArgument(0);
+            for (WebhookDelivery delivery : deliveries) {
+                if (delivery.getId() == null) {
+                    delivery.setId(nextId.getAndIncrement());
+                }
+                stored.put(delivery.getId(), delivery);
+            }
+            return new ArrayList<>(deliveries);
+        });
+        when(deliveryRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<WebhookDelivery> deliveries = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                deliveries.add(stored.get(id));
+            }
+            return deliveries;
+        });
+        return endpoint;
+    }
+
+    private double counter(String outcome) {
+        return meterRegistry.get("payments.webhook.events").tag("outcome", outcome).counter().count();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 5s");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecom.payment.webhook;
+
+import com.ecom.payment.exception.InvalidWebhookUrlException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebhookUrlValidatorTest {
+
+    private final WebhookUrlValidator validator = new WebhookUrlValidator(false);
+
+    @Test
+    void validate_ShouldAcceptPublicAddress() {
+        assertEquals("https://93.184.216.34/hooks", validator.validate(" https://93.184.216.34/hooks "));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "http://localhost:8085/hooks",
+            "http://127.0.0.1/hooks",
+            "http://10.1.2.3/hooks",
+            "http://172.16.0.1/hooks",
+            "http://192.168.1.1/hooks",
+            "http://169.254.169.254/latest/meta-data",
+            "http://100.64.0.1/hooks",
+            "http://0.0.0.0/hooks",
+            "http://[::1]/hooks",
+            "http://[fd00::1]/hooks",
+            "http://[::ffff:127.0.0.1]/hooks"
+    })
+    void validate_ShouldRejectNonPublicAddresses(String url) {
+        assertThrows(InvalidWebhookUrlException.class, () -> validator.validate(url));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ftp://93.184.216.34/hooks", "/hooks", "http://", "http://exa mple.com"})
+    void validate_ShouldRejectMalformedUrls(String url) {
+        assertThrows(InvalidWebhookUrlException.class, () -> validator.validate(url));
+    }
+
+    @Test
+    void validate_ShouldAcceptPrivateAddress_WhenAllowed() {
+        WebhookUrlValidator permissive = new WebhookUrlValidator(true);
+
+        assertEquals("http://localhost:8085/hooks", permissive.validate("http://localhost:8085/hooks"));
+    }
+}